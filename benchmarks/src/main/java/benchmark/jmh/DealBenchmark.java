@@ -0,0 +1,85 @@
+package benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.GameEngineImpl;
+import model.ShuffleSources;
+import model.SimplePlayer;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+
+/**
+ * <pre>
+ * Benchmark of {@link GameEngine#dealPlayer(Player, int)} and {@link GameEngine#dealHouse(int)} with a delay of 0,
+ * without any callbacks. Dealing the house includes settling the bets of every added player.
+ * <b>Note:</b> Dealing the house resets the bets, hence they are placed again before each invocation, untimed.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DealBenchmark
+{
+    @Param({ "1", "10", "100" })
+    private int playerCount;
+
+    private GameEngine gameEngine;
+    private Player player;
+
+    @Setup
+    public void setUp()
+    {
+        gameEngine = new GameEngineImpl(ShuffleSources.seeded(42));
+        for (int i = 0; i < playerCount; i++)
+        {
+            // enough points for the balances never to run out during a run
+            Player added = new SimplePlayer(String.valueOf(i), "Player " + i, Integer.MAX_VALUE / 2);
+            gameEngine.addPlayer(added);
+            gameEngine.placeBet(added, 10);
+        }
+        player = gameEngine.getPlayer("0");
+    }
+
+    @Benchmark
+    public int dealPlayer()
+    {
+        gameEngine.dealPlayer(player, 0);
+        return player.getResult();
+    }
+
+    @Benchmark
+    public void dealHouse(Bets bets)
+    {
+        gameEngine.dealHouse(0);
+    }
+
+    /**
+     * The bets of every player, placed again before each invocation of {@link DealBenchmark#dealHouse(Bets)}.
+     */
+    @State(Scope.Thread)
+    public static class Bets
+    {
+        @Setup(Level.Invocation)
+        public void placeBets(DealBenchmark benchmark)
+        {
+            for (Player added : benchmark.gameEngine.getAllPlayers())
+                benchmark.gameEngine.placeBet(added, 10);
+        }
+    }
+}
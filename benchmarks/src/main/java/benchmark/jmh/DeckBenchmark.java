@@ -0,0 +1,61 @@
+package benchmark.jmh;
+
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.GameEngineImpl;
+import model.ShuffleSources;
+import model.interfaces.GameEngine;
+import model.interfaces.PlayingCard;
+
+/**
+ * Benchmark of {@link GameEngine#getShuffledHalfDeck()}, i.e. building and shuffling a new deck.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DeckBenchmark
+{
+    private GameEngine gameEngine;
+
+    @Setup
+    public void setUp()
+    {
+        // the debug decks are shuffled by a thread local source, whatever the engine's source
+        gameEngine = new GameEngineImpl(ShuffleSources.seeded(42));
+    }
+
+    @Benchmark
+    public Deque<PlayingCard> getShuffledHalfDeck()
+    {
+        return gameEngine.getShuffledHalfDeck();
+    }
+
+    /**
+     * Benchmark of shuffling a deck and drawing every card, as a deal would.
+     * @return the last drawn card, so the draws cannot be optimized away
+     */
+    @Benchmark
+    public PlayingCard drawHalfDeck()
+    {
+        Deque<PlayingCard> deck = gameEngine.getShuffledHalfDeck();
+        PlayingCard card = null;
+        while (!deck.isEmpty())
+            card = deck.pop();
+        return card;
+    }
+}
@@ -0,0 +1,115 @@
+package benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.GameEngineImpl;
+import model.SimplePlayer;
+import model.interfaces.Player;
+import view.interfaces.GameEngineCallbackSupport;
+import view.model.GameEngineGUISupport;
+
+/**
+ * <pre>
+ * Benchmark of the view-model's per round work, i.e. {@link GameEngineGUISupport#allPlayersDealt()},
+ * checked after every deal, and {@link GameEngineGUISupport#dealHouse(int)}, which updates the state of
+ * every player once the round ends.
+ * <b>Note:</b> No bets are placed, hence dealHouse only deals the house's hand on top of the per player work.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GUISupportBenchmark
+{
+    @Param({ "10", "1000", "100000" })
+    private int playerCount;
+
+    private GameEngineGUISupport gameEngineSupport;
+
+    @Setup
+    public void setUp()
+    {
+        gameEngineSupport = new GameEngineGUISupport(new GameEngineImpl(), 0);
+
+        // the view-model notifies its callback support of every change, here without any view
+        gameEngineSupport.addGameEngineCallbackSupport(new NoOpCallbackSupport());
+        for (int i = 0; i < playerCount; i++)
+        {
+            Player player = new SimplePlayer(String.valueOf(i), "Player " + i, 1000);
+            gameEngineSupport.addPlayer(player);
+
+            // every player dealt, i.e. the worst case of allPlayersDealt, which checks them all
+            gameEngineSupport.getPlayerState(player).setHasBeenDealt(true);
+        }
+    }
+
+    @Benchmark
+    public boolean allPlayersDealt()
+    {
+        return gameEngineSupport.allPlayersDealt();
+    }
+
+    @Benchmark
+    public void dealHouse()
+    {
+        gameEngineSupport.dealHouse(0);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        gameEngineSupport.getGameExecutor().close();
+    }
+
+    /**
+     * Callback support ignoring every notification.
+     */
+    private static class NoOpCallbackSupport implements GameEngineCallbackSupport
+    {
+        @Override
+        public void playerAdded(Player player)
+        {
+        }
+
+        @Override
+        public void playerRemoved(Player player)
+        {
+        }
+
+        @Override
+        public void playerBetPlaced(Player player, int bet)
+        {
+        }
+
+        @Override
+        public void playerBetReset(Player player)
+        {
+        }
+
+        @Override
+        public void roundEnded()
+        {
+        }
+
+        @Override
+        public void gameReset()
+        {
+        }
+    }
+}
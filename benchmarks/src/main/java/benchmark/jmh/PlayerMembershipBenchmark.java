@@ -0,0 +1,64 @@
+package benchmark.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.GameEngineImpl;
+import model.SimplePlayer;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+
+/**
+ * <pre>
+ * Benchmark of the player membership check done by {@link GameEngine#placeBet(Player, int)},
+ * {@link GameEngine#dealPlayer(Player, int)} and {@link GameEngine#removePlayer(Player)}.
+ * Bets are placed for random players, the throughput should stay close to flat as the number of players grows
+ * (any drop comes from cache misses on the player objects).
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PlayerMembershipBenchmark
+{
+    @Param({ "1000", "10000", "100000", "500000" })
+    private int playerCount;
+
+    private GameEngine gameEngine;
+    private Player[] players;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp()
+    {
+        gameEngine = new GameEngineImpl();
+        players = new Player[playerCount];
+        for (int i = 0; i < playerCount; i++)
+        {
+            players[i] = new SimplePlayer(String.valueOf(i), "Player " + i, 1000);
+            gameEngine.addPlayer(players[i]);
+        }
+        random = new SplittableRandom(playerCount);
+    }
+
+    @Benchmark
+    public boolean placeBet()
+    {
+        return gameEngine.placeBet(players[random.nextInt(players.length)], 10);
+    }
+}
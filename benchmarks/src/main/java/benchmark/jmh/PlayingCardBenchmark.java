@@ -0,0 +1,72 @@
+package benchmark.jmh;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.PlayingCardImpl;
+import model.interfaces.PlayingCard;
+
+/**
+ * <pre>
+ * Benchmark of {@link PlayingCardImpl#hashCode()} and {@link PlayingCardImpl#toString()} over every card of a half deck,
+ * plus adding them all to a {@link HashSet}, i.e. both together.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PlayingCardBenchmark
+{
+    private PlayingCard[] cards;
+
+    @Setup
+    public void setUp()
+    {
+        cards = new PlayingCard[PlayingCard.Suit.values().length * PlayingCard.Value.values().length];
+        int i = 0;
+        for (PlayingCard.Suit suit : PlayingCard.Suit.values())
+            for (PlayingCard.Value value : PlayingCard.Value.values())
+                cards[i++] = new PlayingCardImpl(suit, value);
+    }
+
+    @Benchmark
+    public int hashCodes()
+    {
+        int hash = 0;
+        for (PlayingCard card : cards)
+            hash += card.hashCode();
+        return hash;
+    }
+
+    @Benchmark
+    public void toStrings(Blackhole blackhole)
+    {
+        for (PlayingCard card : cards)
+            blackhole.consume(card.toString());
+    }
+
+    @Benchmark
+    public Set<PlayingCard> hashSet()
+    {
+        Set<PlayingCard> set = new HashSet<>();
+        for (PlayingCard card : cards)
+            set.add(card);
+        return set;
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.GameEngineImpl;
+import model.SimplePlayer;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+
+/**
+ * <pre>
+ * Benchmark of {@link GameEngine#applyWinLoss(Player, int)} over every added player, as done when a round ends.
+ * Players hold random results, so wins, losses and draws are mixed as in a real round.
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SettlementBenchmark
+{
+    @Param({ "1000", "100000", "1000000" })
+    private int playerCount;
+
+    private GameEngine gameEngine;
+    private int houseResult;
+
+    @Setup
+    public void setUp()
+    {
+        SplittableRandom random = new SplittableRandom(42);
+
+        gameEngine = new GameEngineImpl();
+        for (int i = 0; i < playerCount; i++)
+        {
+            Player player = new SimplePlayer(String.valueOf(i), "Player " + i, Integer.MAX_VALUE / 2);
+            gameEngine.addPlayer(player);
+            gameEngine.placeBet(player, 1 + random.nextInt(100));
+            player.setResult(16 + random.nextInt(10));
+        }
+        houseResult = 21;
+    }
+
+    @Benchmark
+    public void applyWinLoss()
+    {
+        for (Player player : gameEngine.getAllPlayers())
+            gameEngine.applyWinLoss(player, houseResult);
+    }
+}
@@ -0,0 +1,63 @@
+package client;
+
+import model.simulation.LoadGenerator;
+import model.simulation.LoadReport;
+
+/**
+ * <pre>
+ * Console client to put a node under load, i.e. many tables of players betting and playing at once, and print its report.
+ * Usage: LoadTestClient [-tables n] [-players n] [-rounds n] [-threads n] [-delay ms] [-churn share] [-seed n]
+ * </pre>
+ */
+public class LoadTestClient
+{
+    public static void main(String[] args) throws InterruptedException
+    {
+        int tables = 8;
+        int players = 6;
+        long rounds = 100_000L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int delay = 0;
+        double churn = 0.05;
+        Long seed = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2)
+        {
+            switch (args[i])
+            {
+                case "-tables":
+                    tables = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-players":
+                    players = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-rounds":
+                    rounds = Long.parseLong(args[i + 1]);
+                    break;
+                case "-threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-delay":
+                    delay = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-churn":
+                    churn = Double.parseDouble(args[i + 1]);
+                    break;
+                case "-seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown option %s", args[i]));
+            }
+        }
+
+        LoadGenerator loadGenerator = new LoadGenerator(tables, players, rounds, threads);
+        loadGenerator.setDelay(delay);
+        loadGenerator.setChurn(churn);
+        if (seed != null)
+            loadGenerator.setSeed(seed);
+
+        LoadReport report = loadGenerator.run();
+        System.out.print(report);
+    }
+}
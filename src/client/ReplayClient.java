@@ -0,0 +1,50 @@
+package client;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.replay.JournalReplayer;
+import model.replay.ReplayReport;
+import view.callback.GameEngineCallbackImpl;
+
+/**
+ * <pre>
+ * Console client to replay and verify recorded journals, e.g. one directory per table.
+ * With a single directory every event is logged again, to reconstruct a disputed round.
+ * Usage: ReplayClient [-threads n] directory...
+ * </pre>
+ */
+public class ReplayClient
+{
+    public static void main(String[] args) throws InterruptedException
+    {
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> directories = new ArrayList<>();
+        for (int i = 0; i < args.length; i++)
+        {
+            if (args[i].equals("-threads") && i + 1 < args.length)
+                threads = Integer.parseInt(args[++i]);
+            else
+                directories.add(Paths.get(args[i]));
+        }
+
+        JournalReplayer replayer = new JournalReplayer(threads);
+        if (directories.size() == 1)
+            replayer.addGameEngineCallback(new GameEngineCallbackImpl());
+
+        long start = System.nanoTime();
+        int verified = 0;
+        for (ReplayReport report : replayer.replayAll(directories))
+        {
+            System.out.print(report);
+            verified += report.isVerified() ? 1 : 0;
+        }
+        System.out.printf("%d of %d journals verified in %.3f s%n",
+                verified, directories.size(), (System.nanoTime() - start) / 1e9);
+
+        if (verified != directories.size())
+            System.exit(1);
+    }
+}
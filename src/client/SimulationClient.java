@@ -0,0 +1,24 @@
+package client;
+
+import model.simulation.RoundSimulator;
+import model.simulation.SimulationResult;
+
+/**
+ * <pre>
+ * Console client to run the headless round simulation and print its report.
+ * Usage: SimulationClient [rounds] [threads]
+ * </pre>
+ */
+public class SimulationClient
+{
+    private static final long DEFAULT_ROUNDS = 10_000_000L;
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        long rounds = (args.length > 0) ? Long.parseLong(args[0]) : DEFAULT_ROUNDS;
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        SimulationResult result = new RoundSimulator(threads).run(rounds);
+        System.out.print(result);
+    }
+}
@@ -6,6 +6,7 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 
 import view.GameFrame;
+import view.interfaces.GameEngineSupport;
 import view.utility.GameOptionPane;
 
 /**
@@ -14,17 +15,19 @@ import view.utility.GameOptionPane;
 public class GameFrameController extends WindowAdapter implements ComponentListener
 {
     private GameFrame gameFrame;
+    private GameEngineSupport gameEngineSupport;
 
-    public GameFrameController(GameFrame gameFrame)
+    public GameFrameController(GameFrame gameFrame, GameEngineSupport gameEngineSupport)
     {
         this.gameFrame = gameFrame;
+        this.gameEngineSupport = gameEngineSupport;
     }
 
     @Override
     public void windowClosing(WindowEvent event)
     {
-        // display the confirmation dialog if the frame is closing.
-        GameOptionPane.exitGameDialog();
+        // display the confirmation dialog if the frame is closing, any ongoing deal is abandoned on exit
+        GameOptionPane.exitGameDialog(gameEngineSupport.getGameExecutor()::close);
     }
 
     @Override
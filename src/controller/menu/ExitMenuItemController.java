@@ -3,6 +3,7 @@ package controller.menu;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
+import view.interfaces.GameEngineSupport;
 import view.utility.GameOptionPane;
 
 /**
@@ -10,10 +11,17 @@ import view.utility.GameOptionPane;
  */
 public class ExitMenuItemController implements ActionListener
 {
+    private GameEngineSupport gameEngineSupport;
+
+    public ExitMenuItemController(GameEngineSupport gameEngineSupport)
+    {
+        this.gameEngineSupport = gameEngineSupport;
+    }
+
     @Override
     public void actionPerformed(ActionEvent event)
     {
-    	// display the exit confirmation dialog
-        GameOptionPane.exitGameDialog();
+    	// display the exit confirmation dialog, any ongoing deal is abandoned on exit
+        GameOptionPane.exitGameDialog(gameEngineSupport.getGameExecutor()::close);
     }
 }
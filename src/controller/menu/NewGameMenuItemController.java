@@ -21,8 +21,8 @@ public class NewGameMenuItemController implements ActionListener
 	@Override
 	public void actionPerformed(ActionEvent event)
 	{
-		// reset game and show a dialog
-		gameEngineSupport.resetGame();
-		GameOptionPane.newGameDialog();
+		// abandon any ongoing deal rather than waiting for it, then reset game and show a dialog
+		gameEngineSupport.getGameExecutor().cancelAll();
+		gameEngineSupport.getGameExecutor().execute(gameEngineSupport::resetGame, GameOptionPane::newGameDialog);
 	}
 }
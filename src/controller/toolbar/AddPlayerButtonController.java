@@ -26,10 +26,12 @@ public class AddPlayerButtonController extends AbstractToolBarButtonController
 
         if (player != null)
         {
-            // add the player and display a dialog
-            gameEngine.addPlayer(player);
-            gameToolBar.setSelectedPlayer(player);
-            PlayerOptionPane.playerAddedDialog(player);
+            // add the player on the game's executor, then select the player and display a dialog
+            gameEngine.getGameExecutor().execute(() -> gameEngine.addPlayer(player), () ->
+            {
+                gameToolBar.setSelectedPlayer(player);
+                PlayerOptionPane.playerAddedDialog(player);
+            });
         }
     }
 }
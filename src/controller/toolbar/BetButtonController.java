@@ -29,12 +29,15 @@ public class BetButtonController extends AbstractToolBarButtonController
             // place the bet amount for the currently selected player and display a dialog
             Player player = gameToolBar.getSelectedPlayer();
 
-            if (gameEngine.placeBet(player, bet))
+            gameEngine.getGameExecutor().submit(() -> gameEngine.placeBet(player, bet), placed ->
             {
-                gameToolBar.updateButtonState(player);
-                BetOptionPane.betSuccessDialog();
-            }
-            else BetOptionPane.betFailureDialog();
+                if (placed)
+                {
+                    gameToolBar.updateButtonState(player);
+                    BetOptionPane.betSuccessDialog();
+                }
+                else BetOptionPane.betFailureDialog();
+            });
         }
     }
 }
@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.ArrayList;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
 
 import java.awt.event.ActionEvent;
 
@@ -53,14 +55,17 @@ public class DealButtonController extends AbstractToolBarButtonController
         Runnable roundEndUpdate = GameOptionPane::playAgainDialog;
 
 
-        // run the deal methods on a new thread
-        new Thread(() ->
+        // the player is selected on the event thread, before the deal is queued
+        Player selectedPlayer = gameToolBar.getSelectedPlayer();
+
+        // run the deal methods on the game's executor, a click while the queue is full is dropped
+        gameEngine.getGameExecutor().execute(() ->
         {
             // additional check for when forcing a house deal
             if (!gameEngine.allPlayersDealt())
             {
                 // deal for the currently selected player and update view accordingly
-                gameEngine.dealPlayer(gameToolBar.getSelectedPlayer(), gameEngine.getDelay());
+                gameEngine.dealPlayer(selectedPlayer, gameEngine.getDelay());
             }
 
             // house deal occurs if all players are dealt
@@ -71,7 +76,13 @@ public class DealButtonController extends AbstractToolBarButtonController
                     // run all GUI updates on the event thread
                     SwingUtilities.invokeAndWait(earlyDealHouseUpdate);
                 }
-                catch (InterruptedException | InvocationTargetException exception)
+                catch (InterruptedException exception)
+                {
+                    // the game is being reset or closed, keep the interrupt for the deals to see
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                catch (InvocationTargetException exception)
                 {
                     exception.printStackTrace();
                 }
@@ -97,11 +108,23 @@ public class DealButtonController extends AbstractToolBarButtonController
 
                     SwingUtilities.invokeAndWait(roundEndUpdate);
                 }
-                catch (InterruptedException | InvocationTargetException exception)
+                catch (InterruptedException exception)
+                {
+                    // the game is being reset or closed, keep the interrupt for the deals to see
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                catch (InvocationTargetException exception)
                 {
                     exception.printStackTrace();
                 }
             }
-        }).start();
+        }).exceptionally(exception ->
+        {
+            // a dropped click or an abandoned deal needs no handling, anything else is reported
+            if (!(exception instanceof RejectedExecutionException || exception instanceof CancellationException))
+                exception.printStackTrace();
+            return null;
+        });
     }
 }
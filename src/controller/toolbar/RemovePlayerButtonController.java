@@ -24,13 +24,22 @@ public class RemovePlayerButtonController extends AbstractToolBarButtonControlle
         // remove the currently selected player and display a dialog
         Player player = gameToolBar.getSelectedPlayer();
 
-        if (gameEngine.removePlayer(player))
+        // the removal and the check for a house deal run together on the game's executor
+        gameEngine.getGameExecutor().submit(() ->
         {
-            PlayerOptionPane.playerRemovedDialog(player);
-            
-            // if the removed player was the last player who has not been dealt, initiate house deal
-            if (gameEngine.allPlayersDealt())
-                gameToolBar.forceHouseDeal();
-        }
+            if (!gameEngine.removePlayer(player))
+                return null;
+            return gameEngine.allPlayersDealt();
+        }, allPlayersDealt ->
+        {
+            if (allPlayersDealt != null)
+            {
+                PlayerOptionPane.playerRemovedDialog(player);
+
+                // if the removed player was the last player who has not been dealt, initiate house deal
+                if (allPlayersDealt)
+                    gameToolBar.forceHouseDeal();
+            }
+        });
     }
 }
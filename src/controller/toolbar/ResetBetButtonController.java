@@ -23,8 +23,10 @@ public class ResetBetButtonController extends AbstractToolBarButtonController
     {
         // reset bet for the currently selected player and display a dialog
         Player player = gameToolBar.getSelectedPlayer();
-        gameEngine.resetBet(player);
-        gameToolBar.updateButtonState(player);
-        BetOptionPane.betResetDialog();
+        gameEngine.getGameExecutor().execute(() -> gameEngine.resetBet(player), () ->
+        {
+            gameToolBar.updateButtonState(player);
+            BetOptionPane.betResetDialog();
+        });
     }
 }
@@ -0,0 +1,217 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.interfaces.Player;
+
+/**
+ * <pre>
+ * Thread safe {@link Player}, whose points and bet are packed into a single {@link AtomicLong},
+ * the points in the high 32 bits and the bet in the low 32 bits.
+ * Hence placing a bet checks the points and writes the bet in one compare-and-set, and settling applies
+ * the win/loss of the bet in place at the time, without any lock. An update only retries when another one
+ * changed the player in between, so bets from the GUI never block behind a settlement.
+ * <b>Note:</b> A settled bet is flagged until {@link #resetSettledBet()}, which leaves a bet placed after
+ * the settlement (e.g. for the next round) in place rather than resetting it.
+ * </pre>
+ */
+public class AtomicPlayer implements Player
+{
+    private final String id;
+    private volatile String playerName;
+    private volatile int result;
+
+    // flags a settled bet, bets are positive hence never use the sign bit
+    private static final int SETTLED = Integer.MIN_VALUE;
+
+    // points in the high half, bet in the low half
+    private final AtomicLong pointsAndBet;
+
+    public AtomicPlayer(String id, String playerName, int initialPoints)
+    {
+        if (id == null || playerName == null || initialPoints < 0)
+            throw new IllegalArgumentException();
+
+        this.id = id;
+        this.playerName = playerName;
+        pointsAndBet = new AtomicLong(pack(initialPoints, 0));
+    }
+
+    @Override
+    public String getPlayerName()
+    {
+        return playerName;
+    }
+
+    @Override
+    public void setPlayerName(String playerName)
+    {
+        this.playerName = playerName;
+    }
+
+    @Override
+    public int getPoints()
+    {
+        return points(pointsAndBet.get());
+    }
+
+    @Override
+    public void setPoints(int points)
+    {
+        long state;
+        do
+        {
+            state = pointsAndBet.get();
+        }
+        // the bet is kept along with its settled flag
+        while (!pointsAndBet.compareAndSet(state, pack(points, (int) state)));
+    }
+
+    @Override
+    public String getPlayerId()
+    {
+        return id;
+    }
+
+    @Override
+    public boolean setBet(int bet)
+    {
+        long state;
+        do
+        {
+            state = pointsAndBet.get();
+
+            // place the bet if player has sufficient points to bet, as of the same state
+            if (bet <= 0 || points(state) < bet)
+                return false;
+        }
+        while (!pointsAndBet.compareAndSet(state, pack(points(state), bet)));
+        return true;
+    }
+
+    @Override
+    public int getBet()
+    {
+        return bet(pointsAndBet.get());
+    }
+
+    @Override
+    public void resetBet()
+    {
+        long state;
+        do
+        {
+            state = pointsAndBet.get();
+        }
+        while (!pointsAndBet.compareAndSet(state, pack(points(state), 0)));
+    }
+
+    @Override
+    public void settleBet(int houseResult)
+    {
+        int outcome = Integer.signum(result - houseResult);
+
+        long state;
+        do
+        {
+            state = pointsAndBet.get();
+        }
+        while (!pointsAndBet.compareAndSet(state,
+                pack(points(state) + outcome * bet(state), bet(state) | SETTLED)));
+    }
+
+    @Override
+    public void resetSettledBet()
+    {
+        long state;
+        do
+        {
+            state = pointsAndBet.get();
+
+            // a bet placed since the settlement is not flagged, hence kept for the next round
+            if (((int) state & SETTLED) == 0)
+                return;
+        }
+        while (!pointsAndBet.compareAndSet(state, pack(points(state), 0)));
+    }
+
+    @Override
+    public int getResult()
+    {
+        return result;
+    }
+
+    @Override
+    public void setResult(int result)
+    {
+        this.result = result;
+    }
+
+    @Override
+    public boolean equals(Player player)
+    {
+        return id.equals(player.getPlayerId());
+    }
+
+    @Override
+    public boolean equals(Object player)
+    {
+        if (player instanceof Player)
+            return equals((Player) player);
+
+        return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        // hashCode generated based on the player's id attribute
+        return id.hashCode();
+    }
+
+    @Override
+    public int compareTo(Player player)
+    {
+        // compare players based on id
+        return id.compareTo(player.getPlayerId());
+    }
+
+    @Override
+    public String toString()
+    {
+        long state = pointsAndBet.get();
+        return String.format("Player: id=%s, name=%s, bet=%d, points=%d, RESULT .. %d",
+                id, playerName, bet(state), points(state), result);
+    }
+
+    /**
+     * Utility method to pack the points and the bet into one long.
+     * @param points the points, stored in the high half
+     * @param bet the bet, stored in the low half
+     * @return the packed state
+     */
+    private static long pack(int points, int bet)
+    {
+        return ((long) points << 32) | (bet & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Utility method to unpack the points.
+     * @param state the packed state
+     * @return the points
+     */
+    private static int points(long state)
+    {
+        return (int) (state >> 32);
+    }
+
+    /**
+     * Utility method to unpack the bet.
+     * @param state the packed state
+     * @return the bet, without the settled flag
+     */
+    private static int bet(long state)
+    {
+        return (int) state & ~SETTLED;
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+import model.interfaces.PlayingCard;
+
+/**
+ * <pre>
+ * Registry of the 28 canonical {@link PlayingCard}s (flyweights), looked up by suit and value in O(1).
+ * Each card is identified by its ordinal, i.e. its position when ordered by suit then value,
+ * which is also the card's (collision-free) hash code.
+ * <b>Note:</b> Cards obtained from the registry are unique, hence may be compared by identity.
+ * </pre>
+ */
+public final class CardRegistry
+{
+    private static final int VALUE_COUNT = PlayingCard.Value.values().length;
+    private static final PlayingCard[] CARDS = new PlayingCard[PlayingCard.DECK_SIZE];
+
+    static
+    {
+        for (PlayingCard.Suit suit : PlayingCard.Suit.values())
+            for (PlayingCard.Value value : PlayingCard.Value.values())
+                CARDS[ordinal(suit, value)] = new PlayingCardImpl(suit, value);
+    }
+
+    private CardRegistry() {}
+
+    /**
+     * Method to compute a card's ordinal from its attributes.
+     * @param suit the suit of the card
+     * @param value the face value of the card
+     * @return the ordinal in the range [0, {@link PlayingCard#DECK_SIZE})
+     */
+    public static int ordinal(PlayingCard.Suit suit, PlayingCard.Value value)
+    {
+        return suit.ordinal() * VALUE_COUNT + value.ordinal();
+    }
+
+    /**
+     * Method to compute the ordinal of any card, canonical or not.
+     * @param card the PlayingCard
+     * @return the ordinal in the range [0, {@link PlayingCard#DECK_SIZE})
+     */
+    public static int ordinal(PlayingCard card)
+    {
+        return ordinal(card.getSuit(), card.getValue());
+    }
+
+    /**
+     * Method to retrieve the canonical card of the given suit and value.
+     * @param suit the suit of the card
+     * @param value the face value of the card
+     * @return the shared PlayingCard instance
+     */
+    public static PlayingCard getCard(PlayingCard.Suit suit, PlayingCard.Value value)
+    {
+        return CARDS[ordinal(suit, value)];
+    }
+
+    /**
+     * Method to retrieve the canonical card with the given ordinal.
+     * @param ordinal the ordinal as returned by {@link #ordinal(PlayingCard.Suit, PlayingCard.Value)}
+     * @return the shared PlayingCard instance
+     * @throws IllegalArgumentException thrown when the ordinal is out of range
+     */
+    public static PlayingCard getCard(int ordinal) throws IllegalArgumentException
+    {
+        if (ordinal < 0 || ordinal >= CARDS.length)
+            throw new IllegalArgumentException();
+        return CARDS[ordinal];
+    }
+}
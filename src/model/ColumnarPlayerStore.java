@@ -0,0 +1,424 @@
+package model;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayerStore;
+
+/**
+ * <pre>
+ * {@link PlayerStore} for very large tables, keeping the ids, names, points, bets and results of the players
+ * in parallel arrays, one slot per player, rather than in a heap object per player.
+ * The stored players are thin views over their slot, hence settling a round is a linear sweep over the
+ * points, bets and results arrays, split across the cores of the common ForkJoinPool for large tables.
+ * Slots of removed players are reused, a view of a removed player throws an {@link IllegalStateException}
+ * rather than reading the slot's new player.
+ * <b>Note:</b>
+ * 1. The added player's state is copied into the store, the engine deals and settles the stored view from then on,
+ * see {@link GameEngine#getPlayer(String)}.
+ * 2. Players are iterated sorted by id, as {@link GameEngine#getAllPlayers()} requires, the order is sorted again
+ * on the first iteration after players are added or removed, settling does not depend on it.
+ * 3. Settling applies the rule of {@link GameEngineImpl#applyWinLoss(Player, int)} to the arrays directly.
+ * 4. An added {@link AtomicPlayer} is copied like any other player, hence loses its thread safety,
+ * the stored view is no more thread safe than the store itself.
+ * </pre>
+ */
+public class ColumnarPlayerStore implements PlayerStore
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    // tables of two chunks or more are settled in parallel, one chunk of slots per task
+    private static final int PARALLEL_SETTLE_SIZE = 1 << 16;
+
+    private String[] ids;
+    private String[] names;
+    private int[] points;
+    private int[] bets;
+    private int[] results;
+
+    // incremented whenever a slot is freed, so views of the previous player can tell
+    private int[] generations;
+    private LedgerPlayer[] views;
+
+    // slots in use lie below the high water mark, the freed ones among them are reused first
+    private int highWater;
+    private int[] freeSlots;
+    private int freeCount;
+    private Map<String, LedgerPlayer> index = new HashMap<>();
+
+    // the views sorted by id, null once players are added or removed until iterated again
+    private LedgerPlayer[] sorted;
+
+    /**
+     * Creates an empty store.
+     */
+    public ColumnarPlayerStore()
+    {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of players before it has to grow.
+     * @param capacity the expected number of players
+     */
+    public ColumnarPlayerStore(int capacity)
+    {
+        if (capacity < 0)
+            throw new IllegalArgumentException();
+        allocate(Math.max(capacity, INITIAL_CAPACITY));
+    }
+
+    @Override
+    public Player add(Player player)
+    {
+        if (player.getPoints() < 0)
+            throw new IllegalArgumentException();
+
+        // read before removing, the added player may be a view of the player it replaces
+        String id = player.getPlayerId();
+        String name = player.getPlayerName();
+        int playerPoints = player.getPoints();
+        int bet = player.getBet();
+        int result = player.getResult();
+
+        // a replaced player's views are detached like those of a removed player
+        remove(id);
+
+        int slot;
+        if (freeCount > 0)
+            slot = freeSlots[--freeCount];
+        else
+        {
+            if (highWater == ids.length)
+                grow(ids.length * 2);
+            slot = highWater++;
+        }
+
+        ids[slot] = id;
+        names[slot] = name;
+        points[slot] = playerPoints;
+        bets[slot] = bet;
+        results[slot] = result;
+
+        LedgerPlayer view = new LedgerPlayer(id, slot, generations[slot]);
+        views[slot] = view;
+        index.put(id, view);
+        sorted = null;
+        return view;
+    }
+
+    @Override
+    public Player get(String id)
+    {
+        return index.get(id);
+    }
+
+    @Override
+    public boolean remove(String id)
+    {
+        LedgerPlayer view = index.remove(id);
+        if (view == null)
+            return false;
+        sorted = null;
+
+        // cleared so the slot takes no part in settling until it is reused
+        int slot = view.slot;
+        ids[slot] = null;
+        names[slot] = null;
+        views[slot] = null;
+        points[slot] = 0;
+        bets[slot] = 0;
+        results[slot] = 0;
+        generations[slot]++;
+
+        if (freeCount == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    @Override
+    public Collection<Player> getAll()
+    {
+        return new AbstractCollection<Player>()
+        {
+            @Override
+            public Iterator<Player> iterator()
+            {
+                return Collections.<Player>unmodifiableList(Arrays.asList(sortedViews())).iterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return index.size();
+            }
+        };
+    }
+
+    /**
+     * <pre>
+     * Every player is checked before the arrays are replaced, hence a player with negative points leaves
+     * the store unchanged.
+     * </pre>
+     * @param players the players to store
+     * @throws IllegalArgumentException thrown if any player's points are negative
+     */
+    @Override
+    public void restore(List<Player> players) throws IllegalArgumentException
+    {
+        for (Player player : players)
+            if (player.getPoints() < 0)
+                throw new IllegalArgumentException();
+
+        // the slots are handed out in the order of the players
+        allocate(Math.max(players.size(), INITIAL_CAPACITY));
+        for (Player player : players)
+            add(player);
+    }
+
+    /**
+     * <pre>
+     * Settles every slot in one sweep over the arrays, the engine's {@link GameEngine#applyWinLoss(Player, int)}
+     * is not called. Free slots hold no bet, hence need not be skipped.
+     * </pre>
+     * @param houseResult the final score of the house's hand
+     * @param gameEngine the engine settling the round, unused
+     */
+    @Override
+    public void settle(int houseResult, GameEngine gameEngine)
+    {
+        int size = highWater;
+        if (size < 2 * PARALLEL_SETTLE_SIZE)
+        {
+            settle(houseResult, 0, size);
+            return;
+        }
+
+        // each chunk writes to its own range of the points array only
+        int chunks = (size + PARALLEL_SETTLE_SIZE - 1) / PARALLEL_SETTLE_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                settle(houseResult, chunk * PARALLEL_SETTLE_SIZE,
+                        Math.min(size, (chunk + 1) * PARALLEL_SETTLE_SIZE)));
+    }
+
+    /**
+     * Utility method to settle a range of slots, a win adds the bet to the points and a loss subtracts it.
+     * @param houseResult the final score of the house's hand
+     * @param from the first slot, inclusive
+     * @param to the last slot, exclusive
+     */
+    private void settle(int houseResult, int from, int to)
+    {
+        int[] points = this.points;
+        int[] bets = this.bets;
+        int[] results = this.results;
+
+        // the sign of the comparison picks win, loss or draw without a branch per player
+        for (int slot = from; slot < to; slot++)
+            points[slot] += Integer.signum(results[slot] - houseResult) * bets[slot];
+    }
+
+    @Override
+    public void resetBets()
+    {
+        Arrays.fill(bets, 0, highWater, 0);
+    }
+
+    /**
+     * Utility method to replace all the arrays with empty ones, dropping every player.
+     * @param capacity the number of slots
+     */
+    private void allocate(int capacity)
+    {
+        // views handed out before are detached, as their slots no longer exist
+        for (LedgerPlayer view : index.values())
+            view.generation = -1;
+
+        ids = new String[capacity];
+        names = new String[capacity];
+        points = new int[capacity];
+        bets = new int[capacity];
+        results = new int[capacity];
+        generations = new int[capacity];
+        views = new LedgerPlayer[capacity];
+        freeSlots = new int[INITIAL_CAPACITY];
+        freeCount = 0;
+        highWater = 0;
+        index = new HashMap<>(Math.max(16, (int) (capacity / 0.75f) + 1));
+        sorted = null;
+    }
+
+    /**
+     * Utility method to enlarge all the arrays, keeping the slots of the players.
+     * @param capacity the new number of slots
+     */
+    private void grow(int capacity)
+    {
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        points = Arrays.copyOf(points, capacity);
+        bets = Arrays.copyOf(bets, capacity);
+        results = Arrays.copyOf(results, capacity);
+        generations = Arrays.copyOf(generations, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+
+    /**
+     * Utility method to retrieve the views sorted by id, sorting them again only after players were added or removed.
+     * @return the sorted views
+     */
+    private LedgerPlayer[] sortedViews()
+    {
+        if (sorted == null)
+        {
+            LedgerPlayer[] views = index.values().toArray(new LedgerPlayer[index.size()]);
+            Arrays.sort(views, (first, second) -> first.id.compareTo(second.id));
+            sorted = views;
+        }
+        return sorted;
+    }
+
+    /**
+     * <pre>
+     * {@link Player} backed by a slot of the store. The id is kept by the view, so equality by id and ordering
+     * still work once the player is removed, every other attribute is read from and written to the arrays.
+     * </pre>
+     */
+    private class LedgerPlayer implements Player
+    {
+        private final String id;
+        private final int slot;
+        private int generation;
+
+        private LedgerPlayer(String id, int slot, int generation)
+        {
+            this.id = id;
+            this.slot = slot;
+            this.generation = generation;
+        }
+
+        /**
+         * Utility method to check the slot still belongs to this player.
+         * @return the slot of the player
+         * @throws IllegalStateException thrown if the player was removed from the store
+         */
+        private int slot() throws IllegalStateException
+        {
+            if (generations[slot] != generation)
+                throw new IllegalStateException(String.format("Player %s was removed.", id));
+            return slot;
+        }
+
+        @Override
+        public String getPlayerName()
+        {
+            return names[slot()];
+        }
+
+        @Override
+        public void setPlayerName(String playerName)
+        {
+            names[slot()] = playerName;
+        }
+
+        @Override
+        public int getPoints()
+        {
+            return points[slot()];
+        }
+
+        @Override
+        public void setPoints(int points)
+        {
+            ColumnarPlayerStore.this.points[slot()] = points;
+        }
+
+        @Override
+        public String getPlayerId()
+        {
+            return id;
+        }
+
+        @Override
+        public boolean setBet(int bet)
+        {
+            // place the bet if player has sufficient points to bet
+            int slot = slot();
+            if (bet > 0 && points[slot] >= bet)
+            {
+                bets[slot] = bet;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int getBet()
+        {
+            return bets[slot()];
+        }
+
+        @Override
+        public void resetBet()
+        {
+            bets[slot()] = 0;
+        }
+
+        @Override
+        public int getResult()
+        {
+            return results[slot()];
+        }
+
+        @Override
+        public void setResult(int result)
+        {
+            results[slot()] = result;
+        }
+
+        @Override
+        public boolean equals(Player player)
+        {
+            return id.equals(player.getPlayerId());
+        }
+
+        @Override
+        public boolean equals(Object player)
+        {
+            if (player instanceof Player)
+                return equals((Player) player);
+
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return id.hashCode();
+        }
+
+        @Override
+        public int compareTo(Player player)
+        {
+            return id.compareTo(player.getPlayerId());
+        }
+
+        @Override
+        public String toString()
+        {
+            int slot = slot();
+            return String.format("Player: id=%s, name=%s, bet=%d, points=%d, RESULT .. %d",
+                    id, names[slot], bets[slot], points[slot], results[slot]);
+        }
+    }
+}
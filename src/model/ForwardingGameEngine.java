@@ -0,0 +1,104 @@
+package model;
+
+import java.util.Collection;
+import java.util.Deque;
+
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayingCard;
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Base class for decorators of a {@link GameEngine}, every method is forwarded to the wrapped engine.
+ * Extending classes override the methods they add behaviour to and call through to the super method.
+ * </pre>
+ */
+public abstract class ForwardingGameEngine implements GameEngine
+{
+    protected final GameEngine gameEngine;
+
+    /**
+     * Sets the wrapped engine on behalf of the extending classes.
+     * @param gameEngine the engine all calls are forwarded to
+     */
+    protected ForwardingGameEngine(GameEngine gameEngine)
+    {
+        if (gameEngine == null)
+            throw new IllegalArgumentException();
+
+        this.gameEngine = gameEngine;
+    }
+
+    @Override
+    public void dealPlayer(Player player, int delay) throws IllegalArgumentException
+    {
+        gameEngine.dealPlayer(player, delay);
+    }
+
+    @Override
+    public void dealHouse(int delay) throws IllegalArgumentException
+    {
+        gameEngine.dealHouse(delay);
+    }
+
+    @Override
+    public int playRound(Collection<Player> players, int delay) throws IllegalArgumentException
+    {
+        return gameEngine.playRound(players, delay);
+    }
+
+    @Override
+    public void applyWinLoss(Player player, int houseResult)
+    {
+        gameEngine.applyWinLoss(player, houseResult);
+    }
+
+    @Override
+    public void addPlayer(Player player)
+    {
+        gameEngine.addPlayer(player);
+    }
+
+    @Override
+    public Player getPlayer(String id)
+    {
+        return gameEngine.getPlayer(id);
+    }
+
+    @Override
+    public boolean removePlayer(Player player)
+    {
+        return gameEngine.removePlayer(player);
+    }
+
+    @Override
+    public boolean placeBet(Player player, int bet)
+    {
+        return gameEngine.placeBet(player, bet);
+    }
+
+    @Override
+    public void addGameEngineCallback(GameEngineCallback gameEngineCallback)
+    {
+        gameEngine.addGameEngineCallback(gameEngineCallback);
+    }
+
+    @Override
+    public boolean removeGameEngineCallback(GameEngineCallback gameEngineCallback)
+    {
+        return gameEngine.removeGameEngineCallback(gameEngineCallback);
+    }
+
+    @Override
+    public Collection<Player> getAllPlayers()
+    {
+        return gameEngine.getAllPlayers();
+    }
+
+    @Override
+    public Deque<PlayingCard> getShuffledHalfDeck()
+    {
+        return gameEngine.getShuffledHalfDeck();
+    }
+}
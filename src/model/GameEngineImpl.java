@@ -2,29 +2,93 @@ package model;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import model.interfaces.AsyncGameEngine;
 import model.interfaces.GameEngine;
 import model.interfaces.Player;
+import model.interfaces.PlayerStore;
 import model.interfaces.PlayingCard;
+import model.interfaces.ShuffleSource;
+import model.metrics.EngineMetrics;
+import model.metrics.LatencyRecorder;
 import view.interfaces.GameEngineCallback;
 
-public class GameEngineImpl implements GameEngine
+public class GameEngineImpl implements AsyncGameEngine
 {
-    private Deque<PlayingCard> deck;
-    private Map<String, Player> players = new TreeMap<>();
+    // scheduler shared by all engines to pace the cards of asynchronous deals
+    private static final ScheduledExecutorService DEAL_SCHEDULER = createDealScheduler();
+
+    // source of the debug decks, kept apart so they never advance the stream the engine deals from
+    private static final ShuffleSource DEBUG_SHUFFLE_SOURCE = ShuffleSources.threadLocal();
+
+    private HalfDeck deck;
+    private int houseResult;
+    private final PlayerStore players;
     private List<GameEngineCallback> callbacks = new ArrayList<>();
 
+    // optional latency recorders, no timing is done without them, read once per method as they may be unset
+    private volatile EngineMetrics metrics;
+
+    // recorder of each callback in the order of the callbacks, looked up as they are added or the metrics are set
+    private volatile LatencyRecorder[] callbackRecorders = new LatencyRecorder[0];
+
+    /**
+     * Enums to represent the callback methods, for all events to be dispatched by {@link #fire}.
+     */
+    private enum CallbackEvent
+    {
+        NEXT_CARD, BUST_CARD, RESULT, NEXT_HOUSE_CARD, HOUSE_BUST_CARD, HOUSE_RESULT
+    }
+
+    /**
+     * Creates an engine that shuffles with its own randomly seeded {@link java.util.SplittableRandom}.
+     */
     public GameEngineImpl()
     {
-		// initialize the deck of cards
-        deck = getShuffledHalfDeck();
+        this(ShuffleSources.splittable());
+    }
+
+    /**
+     * <pre>
+     * Creates an engine that shuffles with the given source, e.g. {@link ShuffleSources#seeded(long)}
+     * for reproducible decks.
+     * <b>Note:</b> The source is only ever used by this engine, it need not be thread safe.
+     * </pre>
+     * @param shuffleSource the source of randomness for all decks of this engine
+     */
+    public GameEngineImpl(ShuffleSource shuffleSource)
+    {
+        this(shuffleSource, new SortedPlayerStore());
+    }
+
+    /**
+     * <pre>
+     * Creates an engine that shuffles with the given source and keeps its players in the given store,
+     * e.g. a {@link ColumnarPlayerStore} for tables of a million players.
+     * </pre>
+     * @param shuffleSource the source of randomness for all decks of this engine
+     * @param playerStore the empty store of this engine's players
+     */
+    public GameEngineImpl(ShuffleSource shuffleSource, PlayerStore playerStore)
+    {
+        if (shuffleSource == null || playerStore == null)
+            throw new IllegalArgumentException();
+
+        this.players = playerStore;
+
+		// initialize the deck of cards, reshuffled in place whenever it runs out
+        deck = new HalfDeck(shuffleSource);
+        deck.shuffle();
     }
 
 	@Override
@@ -35,39 +99,216 @@ public class GameEngineImpl implements GameEngine
             throw new IllegalArgumentException();
 
         // prevent dealing players who do not exist in the collection
-        if (players.containsValue(player))
+        Player added = getAddedPlayer(player);
+        if (added != null)
         {
-	        int playerScore = deal(player, delay);
-	        
-	        // log the player's result of the round
-	        for (GameEngineCallback callback : callbacks)
-	            callback.result(player, playerScore, this);
-	        
-	        // update the result of the player's most recent hand
-	        player.setResult(playerScore);
+            EngineMetrics metrics = this.metrics;
+            long start = (metrics != null) ? System.nanoTime() : 0;
+	        playerDealt(added, deal(added, delay, 0));
+            if (metrics != null)
+                metrics.recordDealPlayer(System.nanoTime() - start);
         }
 	}
 
+    /**
+     * <pre>
+     * Same as {@link #dealPlayer(Player, int)} but the hand is abandoned once it takes longer than the timeout.
+     * An abandoned hand, like an interrupted one, throws a {@link CancellationException} and sets no result.
+     * </pre>
+     * @param player the current player who will have their result set at the end of the hand
+     * @param delay the delay between cards being dealt (in milliseconds (ms))
+     * @param timeout the time the whole hand may take (in milliseconds (ms))
+     * @throws IllegalArgumentException thrown when delay param is {@literal <} 0 or {@literal >} 1000
+     *         or timeout param is {@literal <} 1
+     * @throws CancellationException thrown if the hand is interrupted or times out
+     */
+    public void dealPlayer(Player player, int delay, long timeout)
+            throws IllegalArgumentException, CancellationException
+    {
+        if (delay < 0 || delay > 1000 || timeout < 1)
+            throw new IllegalArgumentException();
+
+        Player added = getAddedPlayer(player);
+        if (added != null)
+        {
+            EngineMetrics metrics = this.metrics;
+            long start = (metrics != null) ? System.nanoTime() : 0;
+            playerDealt(added, deal(added, delay, TimeUnit.MILLISECONDS.toNanos(timeout)));
+            if (metrics != null)
+                metrics.recordDealPlayer(System.nanoTime() - start);
+        }
+    }
+
 	@Override
 	public void dealHouse(int delay) throws IllegalArgumentException
 	{	
         if (delay < 0)
             throw new IllegalArgumentException();
 
-        int houseScore = deal(null, delay);
+        EngineMetrics metrics = this.metrics;
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        houseDealt(deal(null, delay, 0));
+        if (metrics != null)
+            metrics.recordDealHouse(System.nanoTime() - start);
+	}
+
+    /**
+     * <pre>
+     * Same as {@link #dealHouse(int)} but the hand is abandoned once it takes longer than the timeout.
+     * An abandoned hand, like an interrupted one, throws a {@link CancellationException} and settles no bets.
+     * </pre>
+     * @param delay the delay between cards being dealt (in milliseconds (ms))
+     * @param timeout the time the whole hand may take (in milliseconds (ms))
+     * @throws IllegalArgumentException thrown when delay param is {@literal <} 0 or timeout param is {@literal <} 1
+     * @throws CancellationException thrown if the hand is interrupted or times out
+     */
+    public void dealHouse(int delay, long timeout) throws IllegalArgumentException, CancellationException
+    {
+        if (delay < 0 || timeout < 1)
+            throw new IllegalArgumentException();
+
+        EngineMetrics metrics = this.metrics;
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        houseDealt(deal(null, delay, TimeUnit.MILLISECONDS.toNanos(timeout)));
+        if (metrics != null)
+            metrics.recordDealHouse(System.nanoTime() - start);
+    }
+
+	@Override
+	public int playRound(Collection<Player> roundPlayers, int delay) throws IllegalArgumentException
+	{
+        if (delay < 0 || delay > 1000)
+            throw new IllegalArgumentException();
+
+        // the added players who placed a bet, by their stored instance
+        List<Player> dealtPlayers = new ArrayList<>(roundPlayers.size());
+        for (Player player : roundPlayers)
+        {
+            Player added = getAddedPlayer(player);
+            if (added != null && added.getBet() > 0)
+                dealtPlayers.add(added);
+        }
+
+        EngineMetrics metrics = this.metrics;
+        for (Player player : dealtPlayers)
+        {
+            long start = (metrics != null) ? System.nanoTime() : 0;
+            playerDealt(player, deal(player, delay, 0));
+            if (metrics != null)
+                metrics.recordDealPlayer(System.nanoTime() - start);
+        }
+
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        houseResult = deal(null, delay, 0);
+
+        // settle only the players of this round
+        long settlementStart = (metrics != null) ? System.nanoTime() : 0;
+        for (Player player : dealtPlayers)
+            applyWinLoss(player, houseResult);
+        if (metrics != null)
+            metrics.recordSettlement(System.nanoTime() - settlementStart);
+
+        // as in dealHouse, the callbacks see the settled points and the bets of the round, hence the bets
+        // are reset in a second pass rather than along with win/loss
+        fire(CallbackEvent.HOUSE_RESULT, null, null, houseResult);
+
+        for (Player player : dealtPlayers)
+            player.resetSettledBet();
+        if (metrics != null)
+            metrics.recordDealHouse(System.nanoTime() - start);
+
+        return houseResult;
+	}
+
+	@Override
+	public CompletableFuture<Integer> dealPlayerAsync(Player player, int delay) throws IllegalArgumentException
+	{
+        Player added = getAddedPlayer(player);
+        if (delay < 0 || delay > 1000 || added == null)
+            throw new IllegalArgumentException();
+
+        EngineMetrics metrics = this.metrics;
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        CompletableFuture<Integer> hand = dealAsync(added, delay);
+        return cancelling(hand, hand.thenApply(playerScore ->
+        {
+            playerDealt(added, playerScore);
+            if (metrics != null)
+                metrics.recordDealPlayer(System.nanoTime() - start);
+            return playerScore;
+        }));
+	}
+
+	@Override
+	public CompletableFuture<Integer> dealHouseAsync(int delay) throws IllegalArgumentException
+	{
+        if (delay < 0)
+            throw new IllegalArgumentException();
+
+        EngineMetrics metrics = this.metrics;
+        long start = (metrics != null) ? System.nanoTime() : 0;
+        CompletableFuture<Integer> hand = dealAsync(null, delay);
+        return cancelling(hand, hand.thenApply(houseScore ->
+        {
+            houseDealt(houseScore);
+            if (metrics != null)
+                metrics.recordDealHouse(System.nanoTime() - start);
+            return houseScore;
+        }));
+	}
+
+    /**
+     * Utility method to stop the hand at its next card if the future returned to the caller is cancelled.
+     * @param hand the future of the hand's cards
+     * @param result the future returned to the caller, which depends on the hand
+     * @return the result future
+     */
+    private static CompletableFuture<Integer> cancelling(CompletableFuture<Integer> hand,
+            CompletableFuture<Integer> result)
+    {
+        result.whenComplete((score, exception) ->
+        {
+            if (result.isCancelled())
+                hand.cancel(false);
+        });
+        return result;
+    }
+
+    /**
+     * Utility method to finish a player's hand once all the cards are dealt.
+     * @param player the Player who was dealt
+     * @param playerScore the final score of the player's hand
+     */
+    private void playerDealt(Player player, int playerScore)
+    {
+        // log the player's result of the round
+        fire(CallbackEvent.RESULT, player, null, playerScore);
+
+        // update the result of the player's most recent hand
+        player.setResult(playerScore);
+    }
+
+    /**
+     * Utility method to finish the round once all the house's cards are dealt.
+     * @param houseScore the final score of the house's hand
+     */
+    private void houseDealt(int houseScore)
+    {
+        houseResult = houseScore;
 
         // determine the win/loss of players and update the attributes
-        for (Player player : players.values())
-            applyWinLoss(player, houseScore);
+        EngineMetrics metrics = this.metrics;
+        long settlementStart = (metrics != null) ? System.nanoTime() : 0;
+        players.settle(houseScore, this);
+        if (metrics != null)
+            metrics.recordSettlement(System.nanoTime() - settlementStart);
 
         // log final results once round ends
-        for (GameEngineCallback callback : callbacks)
-            callback.houseResult(houseScore, this);
+        fire(CallbackEvent.HOUSE_RESULT, null, null, houseScore);
 
-        // reset players' previous bet for next round
-        for (Player player : players.values())
-            player.resetBet();
-	}
+        // reset players' previous bet for next round, a pass of its own as the callbacks above read the bets
+        players.resetBets();
+    }
 	
     /**
      * <pre>
@@ -78,47 +319,148 @@ public class GameEngineImpl implements GameEngine
      * </pre>
      * @param delay - the delay in between dealing a card
      * @param player - the player object (player/house) the card is being dealt to
+     * @param timeoutNanos - the time the hand may take, 0 for no timeout
      * @return the final score for this round
+     * @throws CancellationException thrown if the thread is interrupted or the hand times out, before the next card
      */
-    private int deal(Player player, int delay)
+    private int deal(Player player, int delay, long timeoutNanos) throws CancellationException
     {
+        long deadline = System.nanoTime() + timeoutNanos;
         int score = 0;
-        PlayingCard card;
-        
+
         while (score < BUST_LEVEL)
         {
-            try
+            // an abandoned hand ends before its next card, without a result
+            if (Thread.currentThread().isInterrupted())
+                throw new CancellationException("The hand was interrupted.");
+            if (timeoutNanos > 0 && System.nanoTime() - deadline >= 0)
+                throw new CancellationException("The hand timed out.");
+
+            int nextScore = dealCard(player, score);
+
+            // a bust or reaching the bust level ends the hand, which is complete from then on
+            boolean lastCard = nextScore >= BUST_LEVEL;
+
+            // no need to give up the thread when dealing without a delay, e.g. in simulations
+            if (delay > 0)
             {
-                // get a card from the top of the deck
-                card = deck.pop();
-                score += card.getScore();
-                
-            	// log the events of this round
-                if (player != null)
-                    logPlayer(player, card, score);
-                else
-                    logHouse(card, score);
-            	
-                Thread.sleep(delay);
-                
-                if (score > BUST_LEVEL)
+                long sleepNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+                if (timeoutNanos > 0)
+                    sleepNanos = Math.max(Math.min(sleepNanos, deadline - System.nanoTime()), 0);
+
+                try
                 {
-                    score -= card.getScore();
-                    break;
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+                catch (InterruptedException exception)
+                {
+                    // keep the interrupt for the caller, e.g. the executor being shut down
+                    Thread.currentThread().interrupt();
+
+                    // only the delay after the last card is cut short, the hand is already complete
+                    if (!lastCard)
+                        throw new CancellationException("The hand was interrupted.");
                 }
             }
-            catch (InterruptedException exception)
+
+            // the final score is the pre bust total
+            if (nextScore > BUST_LEVEL)
+                break;
+            score = nextScore;
+        }
+
+        return score;
+    }
+
+    /**
+     * Utility method to deal a single card to the player/house and log it.
+     * @param player the player the card is being dealt to, null for the house
+     * @param score the score of the hand before this card
+     * @return the score of the hand including this card, greater than {@link GameEngine#BUST_LEVEL} on a bust
+     */
+    private int dealCard(Player player, int score)
+    {
+        // reshuffle the same deck if the current deck runs out of cards
+        if (deck.isEmpty())
+            deck.shuffle();
+
+        // get a card from the top of the deck
+        PlayingCard card = deck.pop();
+        score += card.getScore();
+
+        // log the events of this round
+        if (player != null)
+            logPlayer(player, card, score);
+        else
+            logHouse(card, score);
+
+        return score;
+    }
+
+    /**
+     * <pre>
+     * Asynchronous version of {@link #deal(Player, int)}, each card is dealt by a task on the
+     * {@link #DEAL_SCHEDULER} which schedules the next card after the delay, so no thread sleeps in between.
+     * </pre>
+     * @param player the player the cards are being dealt to, null for the house
+     * @param delay the delay in between dealing a card
+     * @return a future completed with the final score for this round
+     */
+    private CompletableFuture<Integer> dealAsync(Player player, int delay)
+    {
+        CompletableFuture<Integer> hand = new CompletableFuture<>();
+        DEAL_SCHEDULER.execute(() -> dealNextCard(player, 0, delay, hand));
+        return hand;
+    }
+
+    /**
+     * Utility method to deal the next card of an asynchronous hand and schedule the following step.
+     * @param player the player the card is being dealt to, null for the house
+     * @param score the score of the hand before this card
+     * @param delay the delay in between dealing a card
+     * @param hand the future to complete with the final score
+     */
+    private void dealNextCard(Player player, int score, int delay, CompletableFuture<Integer> hand)
+    {
+        // a cancelled hand deals no further cards
+        if (hand.isDone())
+            return;
+
+        try
+        {
+            int nextScore = dealCard(player, score);
+
+            if (nextScore >= BUST_LEVEL)
             {
-                exception.printStackTrace();
+                // the final score is the pre bust total, available once the last card's delay passes
+                int finalScore = (nextScore > BUST_LEVEL) ? score : nextScore;
+                DEAL_SCHEDULER.schedule(() -> hand.complete(finalScore), delay, TimeUnit.MILLISECONDS);
             }
-            catch (NoSuchElementException exception)
+            else
             {
-                // get a new deck if the current deck runs out of cards
-                deck = getShuffledHalfDeck();
+                DEAL_SCHEDULER.schedule(() -> dealNextCard(player, nextScore, delay, hand),
+                        delay, TimeUnit.MILLISECONDS);
             }
         }
+        catch (RuntimeException exception)
+        {
+            hand.completeExceptionally(exception);
+        }
+    }
 
-        return score;
+    /**
+     * Utility method to create the scheduler of asynchronous deals, sized to the available processors.
+     * @return the scheduler with daemon threads so it never keeps the application alive
+     */
+    private static ScheduledExecutorService createDealScheduler()
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), task ->
+        {
+            Thread thread = new Thread(task, "deal-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
    /** Utility method to log the player's round events.
@@ -129,15 +471,8 @@ public class GameEngineImpl implements GameEngine
     */
    private void logPlayer(Player player, PlayingCard card, int playerScore)
    {
-       for (GameEngineCallback callback : callbacks)
-       {
-           if (playerScore > BUST_LEVEL)
-               // log the details of the card that caused the bust
-               callback.bustCard(player, card, this);
-           else
-               // log the details of the dealt card
-               callback.nextCard(player, card, this);
-       }
+       // log the details of the dealt card, or of the card that caused the bust
+       fire((playerScore > BUST_LEVEL) ? CallbackEvent.BUST_CARD : CallbackEvent.NEXT_CARD, player, card, playerScore);
    }
 
    /**
@@ -148,23 +483,121 @@ public class GameEngineImpl implements GameEngine
     */
    private void logHouse(PlayingCard card, int houseScore)
    {
-       for (GameEngineCallback callback : callbacks)
-       {
-           if (houseScore > BUST_LEVEL)
-               callback.houseBustCard(card, this);
-           else
-               callback.nextHouseCard(card, this);
-       }
+       fire((houseScore > BUST_LEVEL) ? CallbackEvent.HOUSE_BUST_CARD : CallbackEvent.NEXT_HOUSE_CARD,
+               null, card, houseScore);
    }
 
+    /**
+     * <pre>
+     * Utility method to notify all callbacks of an event, in the order they were added.
+     * With metrics set, the whole dispatch and each callback are timed.
+     * </pre>
+     * @param event the callback method to call
+     * @param player the player of the event, null for the house's events
+     * @param card the dealt card, null for results
+     * @param score the score after the card, or the final result
+     */
+    private void fire(CallbackEvent event, Player player, PlayingCard card, int score)
+    {
+        EngineMetrics metrics = this.metrics;
+        LatencyRecorder[] recorders = callbackRecorders;
+        long dispatchStart = (metrics != null) ? System.nanoTime() : 0;
+
+        for (int i = 0; i < callbacks.size(); i++)
+        {
+            GameEngineCallback callback = callbacks.get(i);
+            long start = (metrics != null) ? System.nanoTime() : 0;
+            switch (event)
+            {
+                case NEXT_CARD:
+                    callback.nextCard(player, card, this);
+                    break;
+                case BUST_CARD:
+                    callback.bustCard(player, card, this);
+                    break;
+                case RESULT:
+                    callback.result(player, score, this);
+                    break;
+                case NEXT_HOUSE_CARD:
+                    callback.nextHouseCard(card, this);
+                    break;
+                case HOUSE_BUST_CARD:
+                    callback.houseBustCard(card, this);
+                    break;
+                case HOUSE_RESULT:
+                    callback.houseResult(score, this);
+                    break;
+            }
+            // no recorder while the metrics are being set or unset, or the callback is being added
+            if (metrics != null && i < recorders.length && recorders[i] != null)
+                recorders[i].record(System.nanoTime() - start);
+        }
+
+        if (metrics != null)
+            metrics.recordCallbackDispatch(System.nanoTime() - dispatchStart);
+    }
+
+    /**
+     * <pre>
+     * Setter for the latency recorders of this engine, e.g. a registered {@link EngineMetrics} MXBean.
+     * <b>Note:</b> May be replaced while dealing, each timing in progress finishes with the metrics it started with.
+     * Null stops the timing. The callbacks move from the previous metrics to the new ones.
+     * </pre>
+     * @param metrics the metrics to record into, may be shared with other engines
+     */
+    public void setMetrics(EngineMetrics metrics)
+    {
+        // the callbacks are added to the new metrics before being removed from the previous, which may be the same
+        EngineMetrics previous = this.metrics;
+        LatencyRecorder[] recorders = new LatencyRecorder[callbacks.size()];
+        for (int i = 0; i < recorders.length; i++)
+        {
+            if (metrics != null)
+                recorders[i] = metrics.addCallback(callbacks.get(i));
+            if (previous != null)
+                previous.removeCallback(callbacks.get(i));
+        }
+
+        // the recorders are published first, so an event timed with the new metrics finds their recorder
+        callbackRecorders = recorders;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Getter for the deck the engine deals from, used by {@link GameSnapshot}.
+     * @return the current deck
+     */
+    HalfDeck getDeck()
+    {
+        return deck;
+    }
+
+    /**
+     * <pre>
+     * Method to replace all the players at once, used by {@link GameSnapshot} to restore large games.
+     * </pre>
+     * @param restored the players to restore
+     * @see PlayerStore#restore(List)
+     */
+    void restorePlayers(List<Player> restored)
+    {
+        players.restore(restored);
+    }
+
+    /**
+     * Getter for the result of the house's most recent hand.
+     * @return the house's final score of the last round, 0 if the house has not been dealt yet
+     */
+    public int getHouseResult()
+    {
+        return houseResult;
+    }
+
 	@Override
 	public void applyWinLoss(Player player, int houseResult)
 	{
-        // compare the points of player and house
-        if (player.getResult() > houseResult)
-            player.setPoints(player.getPoints() + player.getBet());
-        else if (player.getResult() < houseResult)
-            player.setPoints(player.getPoints() - player.getBet());
+        // compare the points of player and house, a thread safe player does so in a single atomic update
+        player.settleBet(houseResult);
 	}
 
 	@Override
@@ -174,77 +607,99 @@ public class GameEngineImpl implements GameEngine
 			throw new IllegalArgumentException();
 		
 		// if player with the same id exists, replace the player
-		players.put(player.getPlayerId(), player);
+		players.add(player);
 	}
 
 	@Override
 	public Player getPlayer(String id)
 	{
         // if the player exists in the collection
-        return players.getOrDefault(id, null);
+        return players.get(id);
 	}
 
 	@Override
 	public boolean removePlayer(Player player)
 	{
 		// remove if the player exists in the collection
-        if (players.containsValue(player))
-        {
-            players.remove(player.getPlayerId());
-            return true;
-        }
-        return false;
+        return player != null && players.remove(player.getPlayerId());
 	}
 
+    /**
+     * <pre>
+     * Utility method to find the stored instance of an added player, in O(1) by the player's id.
+     * Since players are keyed by id and player equality is based on the id, this matches a search by value.
+     * </pre>
+     * @param player the Player to look up
+     * @return the player as held by the store, null if no player with the same id exists in the collection
+     */
+    private Player getAddedPlayer(Player player)
+    {
+        return (player != null) ? players.get(player.getPlayerId()) : null;
+    }
+
 	@Override
 	public boolean placeBet(Player player, int bet)
 	{
 		// prevent placing bet if the player is not added in the collection
-		if (!players.containsValue(player))
+		Player added = getAddedPlayer(player);
+		if (added == null)
 			throw new IllegalArgumentException();
 		
-		return player.setBet(bet);
+		return added.setBet(bet);
 	}
 
 	@Override
 	public void addGameEngineCallback(GameEngineCallback gameEngineCallback)
 	{
-		// add game engine callback
+		// add game engine callback, with its recorder if metrics are set
 		if (gameEngineCallback != null)
+		{
 			callbacks.add(gameEngineCallback);
+
+			EngineMetrics metrics = this.metrics;
+			LatencyRecorder[] recorders = Arrays.copyOf(callbackRecorders, callbacks.size());
+			recorders[recorders.length - 1] = (metrics != null) ? metrics.addCallback(gameEngineCallback) : null;
+			callbackRecorders = recorders;
+		}
 	}
 
 	@Override
 	public boolean removeGameEngineCallback(GameEngineCallback gameEngineCallback)
 	{
-        // remove game engine callback if it exists in the collection
-        if (callbacks.contains(gameEngineCallback))
-        {
-            callbacks.remove(gameEngineCallback);
-            return true;
-        }
-        return false;
+        // remove game engine callback if it exists in the collection, along with its recorder
+        int index = callbacks.indexOf(gameEngineCallback);
+        if (index < 0)
+            return false;
+
+        GameEngineCallback removed = callbacks.remove(index);
+
+        LatencyRecorder[] recorders = new LatencyRecorder[callbacks.size()];
+        System.arraycopy(callbackRecorders, 0, recorders, 0, index);
+        System.arraycopy(callbackRecorders, index + 1, recorders, index, recorders.length - index);
+        callbackRecorders = recorders;
+
+        EngineMetrics metrics = this.metrics;
+        if (metrics != null)
+            metrics.removeCallback(removed);
+        return true;
 	}
 
 	@Override
 	public Collection<Player> getAllPlayers()
 	{
         // the collection containing all the players
-        return Collections.unmodifiableCollection(players.values());
+        return players.getAll();
 	}
 
 	@Override
 	public Deque<PlayingCard> getShuffledHalfDeck()
 	{   
-		LinkedList<PlayingCard> deck = new LinkedList<>();
-		
-        // nested loops to populate the deck of cards
-        for (PlayingCard.Suit suit : PlayingCard.Suit.values())
-            for (PlayingCard.Value value : PlayingCard.Value.values())
-            	deck.add(new PlayingCardImpl(suit, value));
-        
-        // shuffle the deck of cards
-        Collections.shuffle(deck);
-        return deck;
+		// a new compact deck backed by the canonical cards, not shuffled with the engine's source,
+		// so calling this does not change the cards a seeded engine deals
+		HalfDeck deck = new HalfDeck(DEBUG_SHUFFLE_SOURCE);
+        deck.shuffle();
+
+        // the compact deck is read-only, the caller gets a deque of its own to add to or remove from
+        return new ArrayDeque<>(deck);
 	}
 }
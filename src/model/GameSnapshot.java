@@ -0,0 +1,244 @@
+package model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayingCard;
+
+/**
+ * <pre>
+ * Compact, versioned binary snapshot of a {@link GameEngine}: its players and, for a {@link GameEngineImpl},
+ * the order of the cards left in the deck. Layout of version 2:
+ *    magic (int), version (short), hasDeck (byte), [card count (byte), card ordinals (bytes)],
+ *    player count (int), per player: type (byte), id (String), name (String), points, bet, result (ints)
+ * Version 1 has no type byte. Further sections, e.g. the view's player states, may follow the engine's section.
+ * <b>Note:</b> {@link AtomicPlayer}s are restored as such, any other player as a {@link SimplePlayer}.
+ * </pre>
+ */
+public final class GameSnapshot
+{
+    public static final int MAGIC = 0x43475353;
+    public static final int VERSION = 2;
+
+    // the types of the restored players
+    private static final int SIMPLE_PLAYER = 0;
+    private static final int ATOMIC_PLAYER = 1;
+
+    private GameSnapshot() {}
+
+    /**
+     * <pre>
+     * Method to capture the state of an engine into memory, which is all that needs to happen on the
+     * engine's thread. The returned output can then be written out on another thread.
+     * </pre>
+     * @param gameEngine the engine to capture
+     * @return the encoded snapshot
+     */
+    public static SnapshotOutput capture(GameEngine gameEngine)
+    {
+        SnapshotOutput out = new SnapshotOutput(64 + gameEngine.getAllPlayers().size() * 48);
+        writeEngine(gameEngine, out);
+        return out;
+    }
+
+    /**
+     * Method to save a snapshot of an engine to a file, replacing the file if it exists.
+     * @param gameEngine the engine to save
+     * @param file the snapshot file
+     * @throws IOException thrown if the file cannot be written
+     */
+    public static void save(GameEngine gameEngine, Path file) throws IOException
+    {
+        write(capture(gameEngine), file);
+    }
+
+    /**
+     * Method to write a captured snapshot to a file, replacing the file if it exists.
+     * @param snapshot the captured snapshot
+     * @param file the snapshot file
+     * @throws IOException thrown if the file cannot be written
+     */
+    public static void write(SnapshotOutput snapshot, Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            snapshot.writeTo(channel);
+        }
+    }
+
+    /**
+     * Method to restore an engine from a snapshot file, the engine's current players are replaced.
+     * @param gameEngine the engine to restore into
+     * @param file the snapshot file
+     * @throws IOException thrown if the file cannot be read or is not a valid snapshot
+     */
+    public static void restore(GameEngine gameEngine, Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            readEngine(gameEngine, new SnapshotInput(channel));
+        }
+    }
+
+    /**
+     * Method to encode the engine's section of a snapshot.
+     * @param gameEngine the engine to encode
+     * @param out the output to encode into
+     */
+    public static void writeEngine(GameEngine gameEngine, SnapshotOutput out)
+    {
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+
+        if (gameEngine instanceof GameEngineImpl)
+        {
+            byte[] codes = new byte[PlayingCard.DECK_SIZE];
+            int count = ((GameEngineImpl) gameEngine).getDeck().copyCards(codes);
+            out.putByte(1);
+            out.putByte(count);
+            out.putBytes(codes, count);
+        }
+        else
+            out.putByte(0);
+
+        out.putInt(gameEngine.getAllPlayers().size());
+        for (Player player : gameEngine.getAllPlayers())
+        {
+            out.putByte((player instanceof AtomicPlayer) ? ATOMIC_PLAYER : SIMPLE_PLAYER);
+            out.putString(player.getPlayerId());
+            out.putString(player.getPlayerName());
+            out.putInt(player.getPoints());
+            out.putInt(player.getBet());
+            out.putInt(player.getResult());
+        }
+    }
+
+    /**
+     * Method to decode the engine's section of a snapshot, replacing the engine's current players.
+     * @param gameEngine the engine to restore into
+     * @param in the input to decode from
+     * @throws IOException thrown if the input cannot be read or is not a valid snapshot, the engine is unchanged
+     */
+    public static void readEngine(GameEngine gameEngine, SnapshotInput in) throws IOException
+    {
+        readEngine(in).restore(gameEngine);
+    }
+
+    /**
+     * <pre>
+     * Method to decode the engine's section of a snapshot without applying it, so the sections following it
+     * can be read in full before anything is restored.
+     * </pre>
+     * @param in the input to decode from
+     * @return the decoded section
+     * @throws IOException thrown if the input cannot be read or is not a valid snapshot
+     */
+    public static EngineSection readEngine(SnapshotInput in) throws IOException
+    {
+        if (in.getInt() != MAGIC)
+            throw new IOException("Not a game snapshot.");
+        int version = in.getShort();
+        if (version < 1 || version > VERSION)
+            throw new IOException(String.format("Unsupported snapshot version %d.", version));
+
+        byte[] codes = null;
+        int count = 0;
+        if (in.getByte() != 0)
+        {
+            codes = new byte[PlayingCard.DECK_SIZE];
+            count = in.getByte();
+            if (count > codes.length)
+                throw new IOException("Corrupt snapshot.");
+            in.getBytes(codes, count);
+
+            try
+            {
+                HalfDeck.checkCards(codes, count);
+            }
+            catch (IllegalArgumentException exception)
+            {
+                throw new IOException("Corrupt snapshot.", exception);
+            }
+        }
+
+        int playerCount = in.getInt();
+        if (playerCount < 0)
+            throw new IOException("Corrupt snapshot.");
+
+        // grown as players are read, so a corrupt count cannot allocate more than the snapshot holds
+        List<Player> players = new ArrayList<>(Math.min(playerCount, 1024));
+        for (int i = 0; i < playerCount; i++)
+        {
+            int type = (version >= 2) ? in.getByte() : SIMPLE_PLAYER;
+            String id = in.getString();
+            String name = in.getString();
+            int points = in.getInt();
+            if (points < 0)
+                throw new IOException("Corrupt snapshot.");
+
+            Player player = (type == ATOMIC_PLAYER) ? new AtomicPlayer(id, name, points)
+                    : new SimplePlayer(id, name, points);
+            int bet = in.getInt();
+            if (bet > 0)
+                player.setBet(bet);
+            player.setResult(in.getInt());
+            players.add(player);
+        }
+        return new EngineSection(codes, count, players);
+    }
+
+    /**
+     * The decoded engine's section of a snapshot, applied by {@link #restore(GameEngine)}.
+     */
+    public static final class EngineSection
+    {
+        private final byte[] codes;
+        private final int count;
+        private final List<Player> players;
+
+        private EngineSection(byte[] codes, int count, List<Player> players)
+        {
+            this.codes = codes;
+            this.count = count;
+            this.players = players;
+        }
+
+        /**
+         * Getter for the decoded players, before they are restored.
+         * @return an unmodifiable list of the players
+         */
+        public List<Player> getPlayers()
+        {
+            return Collections.unmodifiableList(players);
+        }
+
+        /**
+         * Method to restore the section into an engine, replacing the engine's current players.
+         * @param gameEngine the engine to restore into
+         */
+        public void restore(GameEngine gameEngine)
+        {
+            // a deck is only restored into the engine type it was taken from
+            if (codes != null && gameEngine instanceof GameEngineImpl)
+                ((GameEngineImpl) gameEngine).getDeck().restoreCards(codes, count);
+
+            if (gameEngine instanceof GameEngineImpl)
+                ((GameEngineImpl) gameEngine).restorePlayers(players);
+            else
+            {
+                for (Player player : new ArrayList<>(gameEngine.getAllPlayers()))
+                    gameEngine.removePlayer(player);
+                for (Player player : players)
+                    gameEngine.addPlayer(player);
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package model;
+
+import java.util.AbstractCollection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import model.interfaces.PlayingCard;
+import model.interfaces.ShuffleSource;
+
+/**
+ * <pre>
+ * Compact "half" deck of the 28 cards, encoded as one byte per card ({@link CardRegistry} ordinal)
+ * in a reusable array.
+ * The top of the deck is tracked by a cursor, so dealing a card only advances the cursor and
+ * reshuffling permutes the array in place, neither of which allocates.
+ * <b>Note:</b>
+ * Exposed as a read-only {@link Deque} view, cards can be taken from either end but never inserted.
+ * </pre>
+ */
+public class HalfDeck extends AbstractCollection<PlayingCard> implements Deque<PlayingCard>
+{
+    private final byte[] cards = new byte[PlayingCard.DECK_SIZE];
+    private final ShuffleSource shuffleSource;
+    private int top;
+    private int bottom;
+
+    /**
+     * Creates a full deck in {@link CardRegistry} ordinal order, use {@link #shuffle()} to randomise it.
+     * @param shuffleSource the source of randomness for shuffling this deck
+     */
+    public HalfDeck(ShuffleSource shuffleSource)
+    {
+        if (shuffleSource == null)
+            throw new IllegalArgumentException();
+
+        this.shuffleSource = shuffleSource;
+        collect();
+    }
+
+    /**
+     * <pre>
+     * Method to collect all 28 cards back into the deck and shuffle them in place (Fisher-Yates).
+     * <b>Note:</b> Every shuffle starts from the ordinal order, so the resulting order only depends on
+     * the numbers drawn from the {@link ShuffleSource}.
+     * </pre>
+     */
+    public void shuffle()
+    {
+        collect();
+
+        for (int i = cards.length - 1; i > 0; i--)
+        {
+            int j = shuffleSource.nextInt(i + 1);
+            byte swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+    }
+
+    /**
+     * Method to copy the codes of the remaining cards, from the top of the deck, e.g. to take a snapshot.
+     * @param codes the array to copy into, at least {@link PlayingCard#DECK_SIZE} long
+     * @return the number of remaining cards copied
+     */
+    int copyCards(byte[] codes)
+    {
+        System.arraycopy(cards, top, codes, 0, size());
+        return size();
+    }
+
+    /**
+     * Method to replace the deck with the given cards, e.g. to restore a snapshot.
+     * @param codes the codes of the cards, from the top of the deck
+     * @param count the number of cards
+     * @throws IllegalArgumentException thrown when the codes are out of range or repeated
+     */
+    void restoreCards(byte[] codes, int count) throws IllegalArgumentException
+    {
+        checkCards(codes, count);
+
+        System.arraycopy(codes, 0, cards, 0, count);
+        top = 0;
+        bottom = count;
+    }
+
+    /**
+     * Method to check the given cards can be restored, i.e. are distinct cards of a half deck.
+     * @param codes the codes of the cards, from the top of the deck
+     * @param count the number of cards
+     * @throws IllegalArgumentException thrown when the codes are out of range or repeated
+     */
+    static void checkCards(byte[] codes, int count) throws IllegalArgumentException
+    {
+        if (count < 0 || count > PlayingCard.DECK_SIZE)
+            throw new IllegalArgumentException();
+
+        boolean[] seen = new boolean[PlayingCard.DECK_SIZE];
+        for (int i = 0; i < count; i++)
+        {
+            if (codes[i] < 0 || codes[i] >= PlayingCard.DECK_SIZE || seen[codes[i]])
+                throw new IllegalArgumentException();
+            seen[codes[i]] = true;
+        }
+    }
+
+    /**
+     * Utility method to put all the cards back into the deck in {@link CardRegistry} ordinal order.
+     */
+    private void collect()
+    {
+        for (int i = 0; i < cards.length; i++)
+            cards[i] = (byte) i;
+        top = 0;
+        bottom = cards.length;
+    }
+
+    /**
+     * Utility method to decode a card from its byte code.
+     * @param code the card's {@link CardRegistry} ordinal
+     * @return the canonical PlayingCard
+     */
+    private static PlayingCard card(byte code)
+    {
+        return CardRegistry.getCard(code);
+    }
+
+    @Override
+    public int size()
+    {
+        return bottom - top;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return top == bottom;
+    }
+
+    @Override
+    public PlayingCard pollFirst()
+    {
+        return isEmpty() ? null : card(cards[top++]);
+    }
+
+    @Override
+    public PlayingCard pollLast()
+    {
+        return isEmpty() ? null : card(cards[--bottom]);
+    }
+
+    @Override
+    public PlayingCard peekFirst()
+    {
+        return isEmpty() ? null : card(cards[top]);
+    }
+
+    @Override
+    public PlayingCard peekLast()
+    {
+        return isEmpty() ? null : card(cards[bottom - 1]);
+    }
+
+    @Override
+    public PlayingCard removeFirst()
+    {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return card(cards[top++]);
+    }
+
+    @Override
+    public PlayingCard removeLast()
+    {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return card(cards[--bottom]);
+    }
+
+    @Override
+    public PlayingCard getFirst()
+    {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return peekFirst();
+    }
+
+    @Override
+    public PlayingCard getLast()
+    {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return peekLast();
+    }
+
+    @Override
+    public PlayingCard pop()
+    {
+        return removeFirst();
+    }
+
+    @Override
+    public PlayingCard poll()
+    {
+        return pollFirst();
+    }
+
+    @Override
+    public PlayingCard remove()
+    {
+        return removeFirst();
+    }
+
+    @Override
+    public PlayingCard peek()
+    {
+        return peekFirst();
+    }
+
+    @Override
+    public PlayingCard element()
+    {
+        return getFirst();
+    }
+
+    @Override
+    public Iterator<PlayingCard> iterator()
+    {
+        return new Iterator<PlayingCard>()
+        {
+            private int next = top;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < bottom;
+            }
+
+            @Override
+            public PlayingCard next()
+            {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return card(cards[next++]);
+            }
+        };
+    }
+
+    @Override
+    public Iterator<PlayingCard> descendingIterator()
+    {
+        return new Iterator<PlayingCard>()
+        {
+            private int next = bottom - 1;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next >= top;
+            }
+
+            @Override
+            public PlayingCard next()
+            {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return card(cards[next--]);
+            }
+        };
+    }
+
+    /*
+     * The deck is only ever filled by shuffling, hence the insertion and arbitrary removal methods
+     * of the Deque contract are not supported by this view.
+     */
+    @Override
+    public void addFirst(PlayingCard card)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addLast(PlayingCard card)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offerFirst(PlayingCard card)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offerLast(PlayingCard card)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean offer(PlayingCard card)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void push(PlayingCard card)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object card)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object card)
+    {
+        throw new UnsupportedOperationException();
+    }
+}
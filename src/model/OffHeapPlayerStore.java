@@ -0,0 +1,701 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayerStore;
+
+/**
+ * <pre>
+ * {@link PlayerStore} for registries of millions of players, holding every player as a fixed-width record
+ * in a direct {@link ByteBuffer} outside the heap, found by id through an open-addressing index,
+ * itself held in a direct {@link IntBuffer}. Hence the heap and the GC's work do not grow with the registry.
+ * Record layout, 96 bytes:
+ *   0  id, 1 length byte (0 for a free record, else 1 + the UTF-8 length) and up to 31 bytes
+ *  32  name, 1 length byte and up to 47 bytes of UTF-8
+ *  80  points, 84 bet, 88 result, 92 generation of the record
+ * <b>Note:</b>
+ * 1. The stored players are views created on demand, a view of a removed player throws an
+ * {@link IllegalStateException} rather than reading the record's new player.
+ * 2. Players are iterated sorted by id, as {@link GameEngine#getAllPlayers()} requires, through an index of the
+ * record numbers in id order, itself off the heap and sorted again on the first iteration after players are added
+ * or removed. Settling does not depend on it.
+ * 3. Settling applies the rule of {@link GameEngineImpl#applyWinLoss(Player, int)} to the records directly.
+ * 4. An added {@link AtomicPlayer} is copied like any other player, hence loses its thread safety,
+ * the stored view is no more thread safe than the store itself.
+ * </pre>
+ */
+public class OffHeapPlayerStore implements PlayerStore
+{
+    public static final int MAX_ID_BYTES = 31;
+    public static final int MAX_NAME_BYTES = 47;
+
+    private static final int RECORD_SIZE = 96;
+    private static final int ID = 0;
+    private static final int NAME = 32;
+    private static final int POINTS = 80;
+    private static final int BET = 84;
+    private static final int RESULT = 88;
+    private static final int GENERATION = 92;
+    private static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // index entries are pairs of the id's hash and the record number + 1, 0 marking an empty and -1 a removed entry
+    private static final int EMPTY = 0;
+    private static final int REMOVED = -1;
+
+    // tables of two chunks or more are settled in parallel, one chunk of records per task
+    private static final int PARALLEL_SETTLE_SIZE = 1 << 16;
+
+    private ByteBuffer records;
+    private IntBuffer index;
+    private int indexMask;
+    private int indexUsed;
+    private int size;
+
+    // records in use lie below the high water mark, freed ones are chained through their points field
+    private int highWater;
+    private int freeHead = -1;
+
+    // incremented whenever all records are replaced, so views of the previous records can tell
+    private int epoch;
+
+    // the record numbers sorted by id, valid until players are added or removed, and the buffer merged into
+    private IntBuffer sorted = newIntBuffer(0);
+    private IntBuffer merged = newIntBuffer(0);
+    private boolean sortedValid;
+
+    /**
+     * Creates an empty store.
+     */
+    public OffHeapPlayerStore()
+    {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of players before it has to grow.
+     * @param capacity the expected number of players
+     */
+    public OffHeapPlayerStore(int capacity)
+    {
+        if (capacity < 0 || capacity > MAX_RECORDS)
+            throw new IllegalArgumentException();
+        allocate(Math.max(capacity, INITIAL_CAPACITY));
+    }
+
+    /**
+     * <pre>
+     * The added player's state is copied into a record, an {@link AtomicPlayer} included.
+     * </pre>
+     * @param player the player to add
+     * @return a view of the player's record
+     * @throws IllegalArgumentException thrown if the id is longer than {@value #MAX_ID_BYTES} bytes
+     *         or the name longer than {@value #MAX_NAME_BYTES} bytes in UTF-8, or the points are negative
+     */
+    @Override
+    public Player add(Player player) throws IllegalArgumentException
+    {
+        // read before removing, the added player may be a view of the player it replaces
+        String id = player.getPlayerId();
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        byte[] nameBytes = player.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        int points = player.getPoints();
+        int bet = player.getBet();
+        int result = player.getResult();
+
+        if (!fits(idBytes, nameBytes, points))
+            throw new IllegalArgumentException();
+
+        remove(id);
+        sortedValid = false;
+
+        int record;
+        if (freeHead >= 0)
+        {
+            record = freeHead;
+            freeHead = records.getInt(record * RECORD_SIZE + POINTS);
+        }
+        else
+        {
+            if (highWater == records.capacity() / RECORD_SIZE)
+                growRecords();
+            record = highWater++;
+        }
+
+        int offset = record * RECORD_SIZE;
+        putBytes(offset + ID, idBytes);
+        putBytes(offset + NAME, nameBytes);
+        records.putInt(offset + POINTS, points);
+        records.putInt(offset + BET, bet);
+        records.putInt(offset + RESULT, result);
+
+        // removed entries count towards the load, as they lengthen the probes too
+        if ((indexUsed + 1) * 2 > indexMask + 1)
+            rebuildIndex();
+        insert(id.hashCode(), record);
+        size++;
+
+        return new OffHeapPlayer(id, record, records.getInt(offset + GENERATION));
+    }
+
+    @Override
+    public Player get(String id)
+    {
+        int entry = find(id, id.getBytes(StandardCharsets.UTF_8));
+        if (entry < 0)
+            return null;
+
+        int record = index.get(entry + 1) - 1;
+        return new OffHeapPlayer(id, record, records.getInt(record * RECORD_SIZE + GENERATION));
+    }
+
+    @Override
+    public boolean remove(String id)
+    {
+        int entry = find(id, id.getBytes(StandardCharsets.UTF_8));
+        if (entry < 0)
+            return false;
+
+        int record = index.get(entry + 1) - 1;
+        index.put(entry + 1, REMOVED);
+        size--;
+        sortedValid = false;
+
+        // cleared so the record takes no part in settling until it is reused
+        int offset = record * RECORD_SIZE;
+        records.put(offset + ID, (byte) 0);
+        records.putInt(offset + BET, 0);
+        records.putInt(offset + RESULT, 0);
+        records.putInt(offset + GENERATION, records.getInt(offset + GENERATION) + 1);
+        records.putInt(offset + POINTS, freeHead);
+        freeHead = record;
+        return true;
+    }
+
+    @Override
+    public Collection<Player> getAll()
+    {
+        return new AbstractCollection<Player>()
+        {
+            @Override
+            public Iterator<Player> iterator()
+            {
+                sort();
+                return new RecordIterator();
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * <pre>
+     * Every player is checked before the records are replaced, hence a player that does not fit leaves
+     * the store unchanged.
+     * </pre>
+     * @param players the players to store
+     * @throws IllegalArgumentException thrown if any player does not fit a record, see {@link #add(Player)}
+     */
+    @Override
+    public void restore(List<Player> players) throws IllegalArgumentException
+    {
+        if (players.size() > MAX_RECORDS)
+            throw new IllegalArgumentException();
+        for (Player player : players)
+            if (!fits(player.getPlayerId().getBytes(StandardCharsets.UTF_8),
+                    player.getPlayerName().getBytes(StandardCharsets.UTF_8), player.getPoints()))
+                throw new IllegalArgumentException();
+
+        allocate(Math.max(players.size(), INITIAL_CAPACITY));
+        for (Player player : players)
+            add(player);
+    }
+
+    /**
+     * <pre>
+     * Settles every record in one sweep over the buffer, the engine's {@link GameEngine#applyWinLoss(Player, int)}
+     * is not called. Free records hold no bet, hence need not be skipped.
+     * </pre>
+     * @param houseResult the final score of the house's hand
+     * @param gameEngine the engine settling the round, unused
+     */
+    @Override
+    public void settle(int houseResult, GameEngine gameEngine)
+    {
+        int count = highWater;
+        if (count < 2 * PARALLEL_SETTLE_SIZE)
+        {
+            settle(houseResult, 0, count);
+            return;
+        }
+
+        // absolute gets and puts leave the buffer's position alone, hence chunks may run at once
+        int chunks = (count + PARALLEL_SETTLE_SIZE - 1) / PARALLEL_SETTLE_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                settle(houseResult, chunk * PARALLEL_SETTLE_SIZE,
+                        Math.min(count, (chunk + 1) * PARALLEL_SETTLE_SIZE)));
+    }
+
+    /**
+     * Utility method to settle a range of records, a win adds the bet to the points and a loss subtracts it.
+     * @param houseResult the final score of the house's hand
+     * @param from the first record, inclusive
+     * @param to the last record, exclusive
+     */
+    private void settle(int houseResult, int from, int to)
+    {
+        ByteBuffer records = this.records;
+        for (int offset = from * RECORD_SIZE; offset < to * RECORD_SIZE; offset += RECORD_SIZE)
+        {
+            int bet = records.getInt(offset + BET);
+            if (bet != 0)
+                records.putInt(offset + POINTS, records.getInt(offset + POINTS)
+                        + Integer.signum(records.getInt(offset + RESULT) - houseResult) * bet);
+        }
+    }
+
+    @Override
+    public void resetBets()
+    {
+        for (int offset = 0; offset < highWater * RECORD_SIZE; offset += RECORD_SIZE)
+            records.putInt(offset + BET, 0);
+    }
+
+    /**
+     * Utility method to check whether a player fits a record.
+     * @param idBytes the UTF-8 bytes of the id
+     * @param nameBytes the UTF-8 bytes of the name
+     * @param points the player's points
+     * @return true if the id and name are short enough and the points not negative
+     */
+    private static boolean fits(byte[] idBytes, byte[] nameBytes, int points)
+    {
+        return idBytes.length <= MAX_ID_BYTES && nameBytes.length <= MAX_NAME_BYTES && points >= 0;
+    }
+
+    /**
+     * Utility method to replace the records and the index with empty ones, dropping every player.
+     * @param capacity the number of records
+     */
+    private void allocate(int capacity)
+    {
+        records = ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.nativeOrder());
+        index = newIndex(capacity);
+        indexUsed = 0;
+        size = 0;
+        highWater = 0;
+        freeHead = -1;
+        epoch++;
+        sortedValid = false;
+    }
+
+    /**
+     * Utility method to double the number of records, keeping the players in their records.
+     */
+    private void growRecords()
+    {
+        int capacity = records.capacity() / RECORD_SIZE;
+        if (capacity == MAX_RECORDS)
+            throw new IllegalStateException("The store is full.");
+
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min((long) capacity * 2, MAX_RECORDS) * RECORD_SIZE)
+                .order(ByteOrder.nativeOrder());
+        ByteBuffer copied = records.duplicate();
+        copied.clear();
+        grown.put(copied);
+        records = grown;
+    }
+
+    /**
+     * Utility method to create a direct buffer of ints outside the heap.
+     * @param capacity the number of ints
+     * @return the buffer
+     */
+    private static IntBuffer newIntBuffer(int capacity)
+    {
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Utility method to create an empty index, with room for the given number of players at half load.
+     * @param capacity the number of players
+     * @return the index, two ints per entry
+     */
+    private IntBuffer newIndex(int capacity)
+    {
+        int entries = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) * 2;
+        indexMask = entries - 1;
+        return newIntBuffer(entries * 2);
+    }
+
+    /**
+     * Utility method to rebuild the index without its removed entries, sized for a load of at most a quarter.
+     */
+    private void rebuildIndex()
+    {
+        IntBuffer previous = index;
+        index = newIndex(Math.max(size + 1, INITIAL_CAPACITY) * 2);
+        indexUsed = 0;
+
+        for (int entry = 0; entry < previous.capacity(); entry += 2)
+        {
+            int record = previous.get(entry + 1);
+            if (record != EMPTY && record != REMOVED)
+                insert(previous.get(entry), record - 1);
+        }
+    }
+
+    /**
+     * Utility method to add an entry to the index, at the first free entry of the id's probe sequence.
+     * @param hash the hash of the id
+     * @param record the number of the id's record
+     */
+    private void insert(int hash, int record)
+    {
+        int slot = mix(hash) & indexMask;
+        while (index.get(slot * 2 + 1) != EMPTY)
+            slot = (slot + 1) & indexMask;
+
+        index.put(slot * 2, hash);
+        index.put(slot * 2 + 1, record + 1);
+        indexUsed++;
+    }
+
+    /**
+     * Utility method to find the index entry of an id.
+     * @param id the id
+     * @param idBytes the UTF-8 bytes of the id, compared with the records
+     * @return the position of the entry's hash in the index, -1 if the id is not stored
+     */
+    private int find(String id, byte[] idBytes)
+    {
+        int hash = id.hashCode();
+        int slot = mix(hash) & indexMask;
+
+        int record;
+        while ((record = index.get(slot * 2 + 1)) != EMPTY)
+        {
+            if (record != REMOVED && index.get(slot * 2) == hash && idEquals(record - 1, idBytes))
+                return slot * 2;
+            slot = (slot + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    /**
+     * <pre>
+     * Utility method to sort the record numbers by id, unless they are still sorted.
+     * A bottom-up merge sort between two buffers outside the heap, stable and O(n log n).
+     * </pre>
+     */
+    private void sort()
+    {
+        if (sortedValid)
+            return;
+
+        if (sorted.capacity() < size)
+        {
+            sorted = newIntBuffer(size);
+            merged = newIntBuffer(size);
+        }
+
+        int count = 0;
+        for (int record = 0; record < highWater; record++)
+            if (records.get(record * RECORD_SIZE + ID) != 0)
+                sorted.put(count++, record);
+
+        for (int width = 1; width < count; width *= 2)
+        {
+            for (int from = 0; from < count; from += 2 * width)
+            {
+                int middle = Math.min(from + width, count);
+                int to = Math.min(from + 2 * width, count);
+                int left = from;
+                int right = middle;
+
+                for (int i = from; i < to; i++)
+                {
+                    if (right == to || (left < middle && compareIds(sorted.get(left), sorted.get(right)) <= 0))
+                        merged.put(i, sorted.get(left++));
+                    else
+                        merged.put(i, sorted.get(right++));
+                }
+            }
+
+            IntBuffer swap = sorted;
+            sorted = merged;
+            merged = swap;
+        }
+        sortedValid = true;
+    }
+
+    /**
+     * <pre>
+     * Utility method to compare the ids of two records in the order of {@link String#compareTo(String)}.
+     * The UTF-8 bytes compare in code point order, which is that of String's UTF-16 chars except that
+     * characters above U+FFFF (surrogate pairs) come before U+E000 to U+FFFF, whose lead bytes are 0xEE and 0xEF.
+     * </pre>
+     * @param first the number of the first record
+     * @param second the number of the second record
+     * @return a negative number, zero or a positive number as the first id is less than, equal to or greater
+     *         than the second
+     */
+    private int compareIds(int first, int second)
+    {
+        int firstOffset = first * RECORD_SIZE + ID;
+        int secondOffset = second * RECORD_SIZE + ID;
+        int firstEnd = firstOffset + records.get(firstOffset);
+        int secondEnd = secondOffset + records.get(secondOffset);
+
+        for (int i = firstOffset + 1, j = secondOffset + 1; i < firstEnd && j < secondEnd; i++, j++)
+        {
+            int a = records.get(i) & 0xFF;
+            int b = records.get(j) & 0xFF;
+            if (a == b)
+                continue;
+
+            // continuation bytes are below 0xC0, hence only differing lead bytes are ever adjusted
+            if (a >= 0xF0 && (b == 0xEE || b == 0xEF))
+                return -1;
+            if (b >= 0xF0 && (a == 0xEE || a == 0xEF))
+                return 1;
+            return a - b;
+        }
+        return (firstEnd - firstOffset) - (secondEnd - secondOffset);
+    }
+
+    /**
+     * Utility method to spread the bits of a String hash, which are weak in the low bits for similar ids.
+     * @param hash the hash of the id
+     * @return the mixed hash
+     */
+    private static int mix(int hash)
+    {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Utility method to compare the id of a record with the given bytes.
+     * @param record the number of the record
+     * @param idBytes the UTF-8 bytes of the id
+     * @return true if the record holds the id
+     */
+    private boolean idEquals(int record, byte[] idBytes)
+    {
+        int offset = record * RECORD_SIZE + ID;
+        if (records.get(offset) != idBytes.length + 1)
+            return false;
+
+        for (int i = 0; i < idBytes.length; i++)
+            if (records.get(offset + 1 + i) != idBytes[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Utility method to write a length-prefixed string field, the length byte being 1 + the number of bytes.
+     * @param offset the offset of the field
+     * @param bytes the UTF-8 bytes of the string
+     */
+    private void putBytes(int offset, byte[] bytes)
+    {
+        records.put(offset, (byte) (bytes.length + 1));
+        for (int i = 0; i < bytes.length; i++)
+            records.put(offset + 1 + i, bytes[i]);
+    }
+
+    /**
+     * Utility method to read a length-prefixed string field.
+     * @param offset the offset of the field
+     * @return the string
+     */
+    private String getString(int offset)
+    {
+        byte[] bytes = new byte[records.get(offset) - 1];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = records.get(offset + 1 + i);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Iterator creating a view of every record in use, in the order of the ids.
+     */
+    private class RecordIterator implements Iterator<Player>
+    {
+        private int next;
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < size;
+        }
+
+        @Override
+        public Player next()
+        {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            int record = sorted.get(next++);
+            int offset = record * RECORD_SIZE;
+            return new OffHeapPlayer(getString(offset + ID), record, records.getInt(offset + GENERATION));
+        }
+    }
+
+    /**
+     * <pre>
+     * {@link Player} backed by a record of the store. The id is kept by the view, so equality by id and ordering
+     * still work once the player is removed, every other attribute is read from and written to the record.
+     * </pre>
+     */
+    private class OffHeapPlayer implements Player
+    {
+        private final String id;
+        private final int record;
+        private final int generation;
+        private final int epoch = OffHeapPlayerStore.this.epoch;
+
+        private OffHeapPlayer(String id, int record, int generation)
+        {
+            this.id = id;
+            this.record = record;
+            this.generation = generation;
+        }
+
+        /**
+         * Utility method to check the record still belongs to this player.
+         * @return the offset of the player's record
+         * @throws IllegalStateException thrown if the player was removed from the store
+         */
+        private int offset() throws IllegalStateException
+        {
+            int offset = record * RECORD_SIZE;
+            if (epoch != OffHeapPlayerStore.this.epoch || records.getInt(offset + GENERATION) != generation
+                    || records.get(offset + ID) == 0)
+                throw new IllegalStateException(String.format("Player %s was removed.", id));
+            return offset;
+        }
+
+        @Override
+        public String getPlayerName()
+        {
+            return getString(offset() + NAME);
+        }
+
+        @Override
+        public void setPlayerName(String playerName)
+        {
+            byte[] nameBytes = playerName.getBytes(StandardCharsets.UTF_8);
+            if (nameBytes.length > MAX_NAME_BYTES)
+                throw new IllegalArgumentException();
+            putBytes(offset() + NAME, nameBytes);
+        }
+
+        @Override
+        public int getPoints()
+        {
+            return records.getInt(offset() + POINTS);
+        }
+
+        @Override
+        public void setPoints(int points)
+        {
+            records.putInt(offset() + POINTS, points);
+        }
+
+        @Override
+        public String getPlayerId()
+        {
+            return id;
+        }
+
+        @Override
+        public boolean setBet(int bet)
+        {
+            // place the bet if player has sufficient points to bet
+            int offset = offset();
+            if (bet > 0 && records.getInt(offset + POINTS) >= bet)
+            {
+                records.putInt(offset + BET, bet);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int getBet()
+        {
+            return records.getInt(offset() + BET);
+        }
+
+        @Override
+        public void resetBet()
+        {
+            records.putInt(offset() + BET, 0);
+        }
+
+        @Override
+        public int getResult()
+        {
+            return records.getInt(offset() + RESULT);
+        }
+
+        @Override
+        public void setResult(int result)
+        {
+            records.putInt(offset() + RESULT, result);
+        }
+
+        @Override
+        public boolean equals(Player player)
+        {
+            return id.equals(player.getPlayerId());
+        }
+
+        @Override
+        public boolean equals(Object player)
+        {
+            if (player instanceof Player)
+                return equals((Player) player);
+
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return id.hashCode();
+        }
+
+        @Override
+        public int compareTo(Player player)
+        {
+            return id.compareTo(player.getPlayerId());
+        }
+
+        @Override
+        public String toString()
+        {
+            int offset = offset();
+            return String.format("Player: id=%s, name=%s, bet=%d, points=%d, RESULT .. %d", id,
+                    getString(offset + NAME), records.getInt(offset + BET), records.getInt(offset + POINTS),
+                    records.getInt(offset + RESULT));
+        }
+    }
+}
@@ -7,12 +7,27 @@ public class PlayingCardImpl implements PlayingCard
     private final Suit SUIT;
     private final Value VALUE;
     private final int SCORE;
+    private final int ORDINAL;
+    private final String DESCRIPTION;
 
+    /**
+     * <pre>
+     * Creates a card of the given suit and value.
+     * <b>Note:</b> Prefer the shared instances from {@link CardRegistry#getCard(Suit, Value)}.
+     * </pre>
+     * @param suit the suit of the card
+     * @param value the face value of the card
+     */
     public PlayingCardImpl(Suit suit, Value value)
     {
         SUIT = suit;
         VALUE = value;
         SCORE = evaluateScore(value);
+        ORDINAL = CardRegistry.ordinal(suit, value);
+
+        // the description never changes, hence formatted once
+        DESCRIPTION = String.format("Suit: %s, Value: %s, Score: %d",
+                toTitleCase(SUIT), toTitleCase(VALUE), SCORE);
     }
     
     
@@ -58,8 +73,7 @@ public class PlayingCardImpl implements PlayingCard
     @Override
     public String toString()
     {
-        return String.format("Suit: %s, Value: %s, Score: %d",
-                toTitleCase(SUIT), toTitleCase(VALUE), SCORE);
+        return DESCRIPTION;
     }
 
     /**
@@ -76,6 +90,9 @@ public class PlayingCardImpl implements PlayingCard
 	@Override
 	public boolean equals(PlayingCard card)
 	{
+        // canonical cards are unique, hence identity is checked first
+        if (this == card)
+            return true;
         return (VALUE == card.getValue() && SUIT == card.getSuit());
 	}
 
@@ -90,7 +107,7 @@ public class PlayingCardImpl implements PlayingCard
     @Override
     public int hashCode()
     {
-        // hashCode generated based on the card's suit and value attributes
-        return SUIT.hashCode() + VALUE.hashCode();
+        // the ordinal is unique per suit and value, i.e. a perfect hash that is stable across runs
+        return ORDINAL;
     }
 }
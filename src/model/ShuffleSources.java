@@ -0,0 +1,49 @@
+package model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import model.interfaces.ShuffleSource;
+
+/**
+ * Factory methods for the {@link ShuffleSource} strategies supported by {@link GameEngineImpl}.
+ */
+public final class ShuffleSources
+{
+    private ShuffleSources() {}
+
+    /**
+     * <pre>
+     * Method to create a source backed by a private {@link SplittableRandom}, the default of the engine.
+     * No state is shared with other sources, hence there is no contention between tables.
+     * </pre>
+     * @return a new ShuffleSource with a random seed
+     */
+    public static ShuffleSource splittable()
+    {
+        return new SplittableRandom()::nextInt;
+    }
+
+    /**
+     * Method to create a source backed by the {@link ThreadLocalRandom} of whichever thread shuffles.
+     * @return a ShuffleSource without any state of its own
+     */
+    public static ShuffleSource threadLocal()
+    {
+        return bound -> ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    /**
+     * <pre>
+     * Method to create a source producing the same sequence for the same seed, e.g. for load tests and replays.
+     * <b>Note:</b> Since every shuffle starts from the same card order, an engine created with this source
+     * deals exactly the same cards as any other engine created with the same seed.
+     * </pre>
+     * @param seed the seed of the random sequence
+     * @return a new deterministic ShuffleSource
+     */
+    public static ShuffleSource seeded(long seed)
+    {
+        return new SplittableRandom(seed)::nextInt;
+    }
+}
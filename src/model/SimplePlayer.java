@@ -96,7 +96,7 @@ public class SimplePlayer implements Player
 	public boolean equals(Object player)
 	{
         if (player instanceof Player)
-            return equals((SimplePlayer) player);
+            return equals((Player) player);
 
         return false;
 	}
@@ -0,0 +1,157 @@
+package model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <pre>
+ * Reader of a snapshot written by {@link SnapshotOutput}, streamed from a channel in chunks.
+ * Lengths read from the snapshot are checked against the bytes left before anything is allocated for them,
+ * hence a corrupt length fails with an {@link IOException} rather than exhausting the heap.
+ * </pre>
+ */
+public class SnapshotInput
+{
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+
+    /**
+     * Creates the input.
+     * @param channel the channel the snapshot is read from, e.g. a FileChannel
+     */
+    public SnapshotInput(ReadableByteChannel channel)
+    {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    /**
+     * Method to read a single byte.
+     * @return the byte as an unsigned value
+     * @throws IOException thrown if the channel ends or cannot be read
+     */
+    public int getByte() throws IOException
+    {
+        require(1);
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Method to read a 16 bit number.
+     * @return the number as an unsigned value
+     * @throws IOException thrown if the channel ends or cannot be read
+     */
+    public int getShort() throws IOException
+    {
+        require(2);
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    /**
+     * Method to read a 32 bit number.
+     * @return the number
+     * @throws IOException thrown if the channel ends or cannot be read
+     */
+    public int getInt() throws IOException
+    {
+        require(4);
+        return buffer.getInt();
+    }
+
+    /**
+     * Method to read a String.
+     * @return the String
+     * @throws IOException thrown if the channel ends or cannot be read, or the length is corrupt
+     */
+    public String getString() throws IOException
+    {
+        int length = getInt();
+        if (length < 0 || length > remaining())
+            throw new IOException("Corrupt snapshot.");
+
+        require(length);
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Method to read raw bytes.
+     * @param values the array to read into
+     * @param length the number of bytes to read into the start of the array
+     * @throws IOException thrown if the channel ends or cannot be read
+     */
+    public void getBytes(byte[] values, int length) throws IOException
+    {
+        require(length);
+        buffer.get(values, 0, length);
+    }
+
+    /**
+     * Method to evaluate whether anything is left to read, e.g. an optional trailing section.
+     * @return true if the snapshot has more bytes, false if it has ended
+     * @throws IOException thrown if the channel cannot be read
+     */
+    public boolean hasRemaining() throws IOException
+    {
+        if (buffer.hasRemaining())
+            return true;
+
+        buffer.clear();
+        int read = channel.read(buffer);
+        buffer.flip();
+        return read > 0;
+    }
+
+    /**
+     * <pre>
+     * Utility method to find an upper bound of the bytes left, i.e. the exact count for a seekable channel,
+     * such as a FileChannel, and unbounded otherwise.
+     * </pre>
+     * @return the bytes left to read
+     * @throws IOException thrown if the channel cannot be queried
+     */
+    private long remaining() throws IOException
+    {
+        if (channel instanceof SeekableByteChannel)
+        {
+            SeekableByteChannel seekable = (SeekableByteChannel) channel;
+            return buffer.remaining() + Math.max(seekable.size() - seekable.position(), 0);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Utility method to read from the channel until the buffer holds the given number of bytes.
+     * @param length the number of bytes about to be read
+     * @throws IOException thrown if the channel ends or cannot be read
+     */
+    private void require(int length) throws IOException
+    {
+        if (buffer.remaining() >= length)
+            return;
+
+        buffer.compact();
+        while (buffer.position() < length)
+        {
+            // grown as the bytes arrive, never ahead of them, for values larger than a chunk
+            if (!buffer.hasRemaining())
+            {
+                ByteBuffer grown = ByteBuffer.allocate((int) Math.min(length, buffer.capacity() * 2L));
+                buffer.flip();
+                buffer = grown.put(buffer);
+            }
+
+            if (channel.read(buffer) < 0)
+                throw new EOFException("Snapshot ended unexpectedly.");
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,122 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <pre>
+ * Growable in-memory buffer a snapshot is encoded into, see {@link GameSnapshot}.
+ * Encoding only copies state into memory, writing the result to a channel can then happen on another thread.
+ * Numbers are written big-endian, Strings as their UTF-8 byte length followed by the bytes.
+ * </pre>
+ */
+public class SnapshotOutput
+{
+    private ByteBuffer buffer;
+
+    /**
+     * Creates an empty output.
+     * @param initialCapacity the initial size of the buffer in bytes
+     */
+    public SnapshotOutput(int initialCapacity)
+    {
+        buffer = ByteBuffer.allocate(Math.max(initialCapacity, 64));
+    }
+
+    /**
+     * Method to write a single byte.
+     * @param value the byte
+     */
+    public void putByte(int value)
+    {
+        ensureCapacity(1);
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Method to write a 16 bit number.
+     * @param value the number
+     */
+    public void putShort(int value)
+    {
+        ensureCapacity(2);
+        buffer.putShort((short) value);
+    }
+
+    /**
+     * Method to write a 32 bit number.
+     * @param value the number
+     */
+    public void putInt(int value)
+    {
+        ensureCapacity(4);
+        buffer.putInt(value);
+    }
+
+    /**
+     * Method to write a String.
+     * @param value the String, must not be null
+     */
+    public void putString(String value)
+    {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(4 + encoded.length);
+        buffer.putInt(encoded.length);
+        buffer.put(encoded);
+    }
+
+    /**
+     * Method to write raw bytes.
+     * @param values the bytes
+     * @param length the number of bytes to write from the start of the array
+     */
+    public void putBytes(byte[] values, int length)
+    {
+        ensureCapacity(length);
+        buffer.put(values, 0, length);
+    }
+
+    /**
+     * Method to retrieve the encoded snapshot.
+     * @return a read-only view of the bytes written so far
+     */
+    public ByteBuffer toByteBuffer()
+    {
+        ByteBuffer encoded = buffer.duplicate();
+        encoded.flip();
+        return encoded.asReadOnlyBuffer();
+    }
+
+    /**
+     * Method to write the encoded snapshot to a channel.
+     * @param channel the channel, e.g. a FileChannel
+     * @throws IOException thrown if the channel cannot be written to
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException
+    {
+        ByteBuffer encoded = toByteBuffer();
+        while (encoded.hasRemaining())
+            channel.write(encoded);
+    }
+
+    /**
+     * Utility method to grow the buffer, doubling it so the cost of copying is amortized.
+     * @param length the number of bytes about to be written
+     */
+    private void ensureCapacity(int length)
+    {
+        if (buffer.remaining() >= length)
+            return;
+
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < length)
+            capacity *= 2;
+
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
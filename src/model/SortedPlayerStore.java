@@ -0,0 +1,96 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayerStore;
+
+/**
+ * <pre>
+ * Default {@link PlayerStore} of the engine, holding the added player instances sorted by id.
+ * A hash index by id backs the lookups in O(1), while the TreeMap keeps the sorted order.
+ * </pre>
+ */
+public class SortedPlayerStore implements PlayerStore
+{
+    private Map<String, Player> players = new TreeMap<>();
+
+    // hash index of the players by id, for O(1) lookups while the TreeMap keeps the sorted order
+    private Map<String, Player> playerIndex = new HashMap<>();
+
+    @Override
+    public Player add(Player player)
+    {
+        // if player with the same id exists, replace the player
+        players.put(player.getPlayerId(), player);
+        playerIndex.put(player.getPlayerId(), player);
+        return player;
+    }
+
+    @Override
+    public Player get(String id)
+    {
+        return playerIndex.get(id);
+    }
+
+    @Override
+    public boolean remove(String id)
+    {
+        if (playerIndex.remove(id) == null)
+            return false;
+
+        players.remove(id);
+        return true;
+    }
+
+    @Override
+    public Collection<Player> getAll()
+    {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    /**
+     * <pre>
+     * The players are sorted by id before being put in a fresh TreeMap, the sort being linear for
+     * players already sorted, as {@link #getAll()} returns them, and the insertions then only ever append.
+     * </pre>
+     * @param restored the players to restore
+     */
+    @Override
+    public void restore(List<Player> restored)
+    {
+        List<Player> sorted = new ArrayList<>(restored);
+        sorted.sort(Comparator.comparing(Player::getPlayerId));
+
+        playerIndex = new HashMap<>(Math.max(16, (int) (restored.size() / 0.75f) + 1));
+        players = new TreeMap<>();
+        for (Player player : sorted)
+        {
+            // as with add, a later player with the same id replaces the earlier one
+            playerIndex.put(player.getPlayerId(), player);
+            players.put(player.getPlayerId(), player);
+        }
+    }
+
+    @Override
+    public void settle(int houseResult, GameEngine gameEngine)
+    {
+        for (Player player : players.values())
+            gameEngine.applyWinLoss(player, houseResult);
+    }
+
+    @Override
+    public void resetBets()
+    {
+        for (Player player : players.values())
+            player.resetSettledBet();
+    }
+}
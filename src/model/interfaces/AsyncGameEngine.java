@@ -0,0 +1,38 @@
+package model.interfaces;
+
+import java.util.concurrent.CompletableFuture;
+
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Non-blocking variant of the {@link GameEngine} deal operations.
+ * Cards are paced by a shared scheduler rather than a sleeping thread, hence the calling thread
+ * returns immediately and {@link GameEngineCallback} methods are called from the scheduler threads.
+ * <b>Note:</b>
+ * As with the blocking methods, a single engine deals one hand at a time, i.e. the next hand should
+ * only be started once the future of the previous hand has completed.
+ * Cancelling a returned future stops the hand before its next card, without a result or any settlement.
+ * </pre>
+ */
+public interface AsyncGameEngine extends GameEngine
+{
+   /**
+    * Asynchronous version of {@link GameEngine#dealPlayer(Player, int)}, with the same callbacks in the same order.
+    * @param player the current player who will have their result set at the end of the hand
+    * @param delay the delay between cards being dealt (in milliseconds (ms))
+    * @return a future completed with the player's final result once the hand ends
+    * @throws IllegalArgumentException thrown when delay param is {@literal <} 0 or {@literal >} 1000
+    *         or the player has not been added to the engine
+    */
+   CompletableFuture<Integer> dealPlayerAsync(Player player, int delay) throws IllegalArgumentException;
+
+   /**
+    * Asynchronous version of {@link GameEngine#dealHouse(int)}, the win/loss of all players is applied and
+    * bets are reset before the returned future completes.
+    * @param delay the delay between cards being dealt (in milliseconds (ms))
+    * @return a future completed with the house's final result once the round ends
+    * @throws IllegalArgumentException thrown when delay param is {@literal <} 0
+    */
+   CompletableFuture<Integer> dealHouseAsync(int delay) throws IllegalArgumentException;
+}
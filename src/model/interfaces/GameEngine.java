@@ -47,6 +47,24 @@ public interface GameEngine
     */
    void dealHouse(int delay) throws IllegalArgumentException;
 
+   /**
+    * <pre>
+    * Plays a whole round in one call: deals each of the given players who has placed a bet, as
+    * {@link #dealPlayer(Player, int)} does, then deals the house and settles the bets.
+    * <b>Note:</b>
+    * 1. Unlike {@link #dealHouse(int)}, only the players dealt in this round are settled and have their bets reset.
+    * As with {@link #dealHouse(int)}, win/loss is applied before and the bets are reset after calling
+    * {@link GameEngineCallback#houseResult(int, GameEngine)}, hence the callbacks see the settled points and the bets.
+    * Settling therefore takes a pass over the round's players on either side of the callbacks, not a single one.
+    * 2. Players who were not added to the {@link GameEngine} or have no bet are skipped.
+    * </pre>
+    * @param players the players taking part in the round, e.g. {@link #getAllPlayers()}
+    * @param delay the delay between cards being dealt (in milliseconds (ms))
+    * @return the house result of the round
+    * @throws IllegalArgumentException thrown when delay param is {@literal <} 0 or {@literal >} 1000
+    */
+   int playRound(Collection<Player> players, int delay) throws IllegalArgumentException;
+
    /**
     * <pre>
     * A player's bet is settled by this method i.e. win or loss is applied to update betting points
@@ -62,6 +62,35 @@ public interface Player extends Comparable<Player>
     */
    void resetBet();
 
+   /**
+    * <pre>
+    * Method to apply the win/loss of the current bet against the house's result, i.e. a win adds the bet
+    * to the points and a loss subtracts it, a draw changes nothing.
+    * <b>Note:</b> Called through {@link GameEngine#applyWinLoss(Player, int)}, the bet is kept until
+    * {@link #resetSettledBet()} so the houseResult callbacks still see it.
+    * </pre>
+    * @param houseResult the final score of the house's hand, compared with {@link #getResult()}
+    */
+   default void settleBet(int houseResult)
+   {
+      if (getResult() > houseResult)
+         setPoints(getPoints() + getBet());
+      else if (getResult() < houseResult)
+         setPoints(getPoints() - getBet());
+   }
+
+   /**
+    * <pre>
+    * Method to reset the bet once settled by {@link #settleBet(int)}, for the next round.
+    * <b>Note:</b> Same as {@link #resetBet()} unless overridden, a thread safe player keeps a bet placed
+    * after the settlement instead.
+    * </pre>
+    */
+   default void resetSettledBet()
+   {
+      resetBet();
+   }
+
    /**
     * Getter for the player's result attribute.
     * @return the result of the most recent hand as set by {@link #setResult(int)}
@@ -0,0 +1,68 @@
+package model.interfaces;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <pre>
+ * Storage of the players added to a {@link GameEngine}, keyed by their ids.
+ * The engine deals, bets and settles on the players returned by the store, which may be the added instances
+ * or views over the store's own representation.
+ * Implementations need not be thread safe, each engine (table) uses its own store.
+ * </pre>
+ */
+public interface PlayerStore
+{
+   /**
+    * Method to add a player, replacing any player with the same id.
+    * @param player the player to add
+    * @return the stored player, which the engine uses from then on
+    */
+   Player add(Player player);
+
+   /**
+    * Method to find a player by id.
+    * @param id the id of the player
+    * @return the stored player, null if no player has the id
+    */
+   Player get(String id);
+
+   /**
+    * Method to remove a player by id.
+    * @param id the id of the player
+    * @return true if a player was removed, false otherwise
+    */
+   boolean remove(String id);
+
+   /**
+    * Getter for all the stored players.
+    * @return an unmodifiable view of the players, sorted in ascending order by player id as required by
+    *         {@link GameEngine#getAllPlayers()}
+    */
+   Collection<Player> getAll();
+
+   /**
+    * Method to replace all the players at once, e.g. when a snapshot is restored.
+    * @param players the players to store, sorted by id
+    * @throws IllegalArgumentException thrown if a player cannot be stored, leaving the store unchanged
+    */
+   void restore(List<Player> players) throws IllegalArgumentException;
+
+   /**
+    * <pre>
+    * Method to settle the bets of all the players against the house's result, by the rule of
+    * {@link GameEngine#applyWinLoss(Player, int)}.
+    * </pre>
+    * @param houseResult the final score of the house's hand
+    * @param gameEngine the engine settling the round, whose rule applies
+    */
+   void settle(int houseResult, GameEngine gameEngine);
+
+   /**
+    * <pre>
+    * Method to reset the bets settled by {@link #settle(int, GameEngine)}, in preparation for the next round.
+    * <b>Note:</b> Players stored as such are reset through {@link Player#resetSettledBet()}.
+    * </pre>
+    */
+   void resetBets();
+}
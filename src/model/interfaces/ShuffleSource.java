@@ -0,0 +1,17 @@
+package model.interfaces;
+
+/**
+ * <pre>
+ * Source of the random numbers used to shuffle a deck of cards.
+ * Implementations need not be thread safe, each engine (table) uses its own source.
+ * </pre>
+ */
+public interface ShuffleSource
+{
+   /**
+    * Method to draw the next random index of a shuffle.
+    * @param bound the exclusive upper bound, always positive
+    * @return a random integer in the range [0, bound)
+    */
+   int nextInt(int bound);
+}
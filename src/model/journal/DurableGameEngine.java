@@ -0,0 +1,171 @@
+package model.journal;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import model.ForwardingGameEngine;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayingCard;
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Decorator of a {@link GameEngine} that logs every player's points in a {@link PointsWal}, and only returns from
+ * adding a player or settling a round once the new points are durable.
+ * Settlements are appended by a {@link GameEngineCallback} added to the wrapped engine, once win/loss is applied.
+ * Many engines, e.g. all the tables of a server, may share one log, so their settlements are forced together.
+ * <b>Note:</b>
+ * Only the players who had a bet are logged when a round is settled, as the others' points do not change.
+ * Use {@link #restorePoints(Map)} with the points from {@link PointsWal#recover(java.nio.file.Path)} after a crash.
+ * </pre>
+ */
+public class DurableGameEngine extends ForwardingGameEngine
+{
+    private final PointsWal wal;
+
+    // the last entry appended by the wrapped engine's callback, whose durability implies that of the earlier ones
+    private CompletableFuture<Void> lastSettlement;
+
+    /**
+     * Wraps the engine.
+     * @param gameEngine the engine whose points are logged
+     * @param wal the log, may be shared with other engines
+     */
+    public DurableGameEngine(GameEngine gameEngine, PointsWal wal)
+    {
+        super(gameEngine);
+        if (wal == null)
+            throw new IllegalArgumentException();
+
+        this.wal = wal;
+        gameEngine.addGameEngineCallback(new SettlementCallback());
+    }
+
+    /**
+     * <pre>
+     * Method to set the points of the added players to the recovered ones, e.g. once the players are added again.
+     * The restored points are logged again and the method returns once they are durable, as adding the players
+     * logged their initial points, which would otherwise be recovered after another crash.
+     * </pre>
+     * @param recovered the points by player id, as returned by {@link PointsWal#recover(java.nio.file.Path)}
+     */
+    public void restorePoints(Map<String, Integer> recovered)
+    {
+        CompletableFuture<Void> restored = null;
+        for (Player player : getAllPlayers())
+        {
+            Integer points = recovered.get(player.getPlayerId());
+            if (points != null)
+            {
+                player.setPoints(points);
+                restored = wal.append(player.getPlayerId(), points);
+            }
+        }
+        awaitDurable(restored);
+    }
+
+    @Override
+    public void addPlayer(Player player)
+    {
+        super.addPlayer(player);
+        awaitDurable(wal.append(player.getPlayerId(), player.getPoints()));
+    }
+
+    @Override
+    public boolean removePlayer(Player player)
+    {
+        if (super.removePlayer(player))
+        {
+            awaitDurable(wal.remove(player.getPlayerId()));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void dealHouse(int delay) throws IllegalArgumentException
+    {
+        lastSettlement = null;
+        super.dealHouse(delay);
+        awaitDurable(lastSettlement);
+    }
+
+    @Override
+    public int playRound(Collection<Player> players, int delay) throws IllegalArgumentException
+    {
+        lastSettlement = null;
+        int houseScore = super.playRound(players, delay);
+        awaitDurable(lastSettlement);
+        return houseScore;
+    }
+
+    /**
+     * Utility method to wait for an entry to become durable.
+     * @param entry the future of the entry, null if nothing was appended
+     * @throws CancellationException thrown if interrupted while waiting, the entry may not be durable
+     * @throws IllegalStateException thrown if the entry could not be written
+     */
+    private static void awaitDurable(CompletableFuture<Void> entry) throws CancellationException, IllegalStateException
+    {
+        if (entry == null)
+            return;
+
+        try
+        {
+            entry.get();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted before the points were durable.");
+        }
+        catch (ExecutionException exception)
+        {
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    /**
+     * Callback appending the settled points of the wrapped engine's players.
+     */
+    private class SettlementCallback implements GameEngineCallback
+    {
+        @Override
+        public void nextCard(Player player, PlayingCard card, GameEngine engine)
+        {
+        }
+
+        @Override
+        public void bustCard(Player player, PlayingCard card, GameEngine engine)
+        {
+        }
+
+        @Override
+        public void result(Player player, int result, GameEngine engine)
+        {
+        }
+
+        @Override
+        public void nextHouseCard(PlayingCard card, GameEngine engine)
+        {
+        }
+
+        @Override
+        public void houseBustCard(PlayingCard card, GameEngine engine)
+        {
+        }
+
+        @Override
+        public void houseResult(int result, GameEngine engine)
+        {
+            // called once win/loss is applied but before the bets are reset, waited for by dealHouse and playRound
+            for (Player player : engine.getAllPlayers())
+                if (player.getBet() > 0)
+                    lastSettlement = wal.append(player.getPlayerId(), player.getPoints());
+        }
+    }
+}
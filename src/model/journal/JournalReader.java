@@ -0,0 +1,222 @@
+package model.journal;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import model.CardRegistry;
+import model.interfaces.PlayingCard;
+
+/**
+ * <pre>
+ * Cursor over the records of a {@link RoundJournal} directory, reading its segments in order.
+ * Each call of {@link #next()} decodes one record, whose fields are then available through the getters.
+ * The interned player ids are resolved by the reader, hence {@link RoundJournal#PLAYER_ID} records are never returned.
+ * <b>Note:</b> Segments are memory-mapped one at a time and read without copying, except for the player ids.
+ * </pre>
+ */
+public class JournalReader
+{
+    private final List<Path> segmentFiles = new ArrayList<>();
+    private final List<String> playerIds = new ArrayList<>();
+    private int nextSegment;
+    private MappedByteBuffer segment;
+
+    private byte type;
+    private String playerId;
+    private PlayingCard card;
+    private int value;
+
+    /**
+     * Creates a reader positioned before the first record of the journal.
+     * @param directory the directory of the journal's segment files
+     * @throws IOException thrown if the directory cannot be listed
+     */
+    public JournalReader(Path directory) throws IOException
+    {
+        if (directory == null)
+            throw new IllegalArgumentException();
+
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + RoundJournal.SEGMENT_SUFFIX))
+        {
+            for (Path segmentFile : segments)
+                segmentFiles.add(segmentFile);
+        }
+        segmentFiles.sort(Comparator.comparingInt(RoundJournal::segmentNumber));
+    }
+
+    /**
+     * Method to advance to the next record.
+     * @return true if a record was read, false once the journal has ended
+     * @throws IOException thrown if a segment cannot be read or is corrupt
+     */
+    public boolean next() throws IOException
+    {
+        while (true)
+        {
+            // the zero filled tail of a segment marks its end
+            if (segment == null || !segment.hasRemaining() || segment.get(segment.position()) == RoundJournal.END_OF_SEGMENT)
+            {
+                if (nextSegment == segmentFiles.size())
+                    return false;
+                segment = map(segmentFiles.get(nextSegment++));
+                playerIds.clear();
+                continue;
+            }
+
+            try
+            {
+                if (read())
+                    return true;
+            }
+            catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                    | IllegalArgumentException exception)
+            {
+                throw new IOException(String.format("Corrupt journal segment %s.",
+                        segmentFiles.get(nextSegment - 1)), exception);
+            }
+        }
+    }
+
+    /**
+     * Getter for the type of the current record, one of the record type constants of {@link RoundJournal}.
+     * @return the record type
+     */
+    public byte getType()
+    {
+        return type;
+    }
+
+    /**
+     * Getter for the player of the current record.
+     * @return the player's id, null for the house's records
+     */
+    public String getPlayerId()
+    {
+        return playerId;
+    }
+
+    /**
+     * Getter for the card of the current record.
+     * @return the dealt card, null for records other than cards
+     */
+    public PlayingCard getCard()
+    {
+        return card;
+    }
+
+    /**
+     * Getter for the number of the current record, i.e. the points, bet or result depending on the type.
+     * @return the value of the record
+     */
+    public int getValue()
+    {
+        return value;
+    }
+
+    /**
+     * Utility method to decode the record at the current position of the segment.
+     * @return true if the record is to be returned, false if it was only an interned player id
+     * @throws IOException thrown if the record type is unknown
+     */
+    private boolean read() throws IOException
+    {
+        type = segment.get();
+        playerId = null;
+        card = null;
+        value = 0;
+
+        switch (type)
+        {
+            case RoundJournal.PLAYER_ID:
+                int index = getVarInt();
+                byte[] encoded = new byte[getVarInt()];
+                segment.get(encoded);
+                if (index != playerIds.size())
+                    throw new IOException("Corrupt journal, player ids out of order.");
+                playerIds.add(new String(encoded, StandardCharsets.UTF_8));
+                return false;
+            case RoundJournal.PLAYER_ADDED:
+            case RoundJournal.SETTLED:
+                playerId = playerIds.get(getVarInt());
+                value = unzigzag(getVarInt());
+                return true;
+            case RoundJournal.PLAYER_REMOVED:
+            case RoundJournal.ROUND_PLAYER:
+            case RoundJournal.HAND_ABANDONED:
+                playerId = playerIds.get(getVarInt());
+                return true;
+            case RoundJournal.BET_PLACED:
+            case RoundJournal.PLAYER_RESULT:
+                playerId = playerIds.get(getVarInt());
+                value = getVarInt();
+                return true;
+            case RoundJournal.PLAYER_CARD:
+            case RoundJournal.PLAYER_BUST_CARD:
+                playerId = playerIds.get(getVarInt());
+                card = CardRegistry.getCard(segment.get());
+                return true;
+            case RoundJournal.HOUSE_CARD:
+            case RoundJournal.HOUSE_BUST_CARD:
+                card = CardRegistry.getCard(segment.get());
+                return true;
+            case RoundJournal.HOUSE_RESULT:
+                value = getVarInt();
+                return true;
+            case RoundJournal.ROUND_STARTED:
+            case RoundJournal.HOUSE_ABANDONED:
+                return true;
+            default:
+                throw new IOException(String.format("Corrupt journal, unknown record type %d.", type));
+        }
+    }
+
+    /**
+     * Utility method to read an unsigned variable length integer, 7 bits per byte.
+     * @return the value, treated as unsigned
+     */
+    private int getVarInt()
+    {
+        int value = 0;
+        for (int shift = 0; ; shift += 7)
+        {
+            byte next = segment.get();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0)
+                return value;
+        }
+    }
+
+    /**
+     * Utility method to reverse the zigzag encoding of signed values.
+     * @param value the zigzag encoded value
+     * @return the signed value
+     */
+    private static int unzigzag(int value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Utility method to map a segment file for reading.
+     * @param segmentFile the path of the segment
+     * @return the mapped segment
+     * @throws IOException thrown if the file cannot be opened or mapped
+     */
+    private static MappedByteBuffer map(Path segmentFile) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ))
+        {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
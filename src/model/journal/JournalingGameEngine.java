@@ -0,0 +1,186 @@
+package model.journal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import model.ForwardingGameEngine;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayingCard;
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Decorator of a {@link GameEngine} that records every player change, bet, dealt card, result and settlement
+ * in a {@link RoundJournal}. Bets and player changes are recorded by the decorated methods, the cards and
+ * results by a {@link GameEngineCallback} added to the wrapped engine.
+ * <b>Note:</b>
+ * 1. Only successful operations are recorded, and settlements only for the players who had a bet.
+ * 2. A hand abandoned by a {@link CancellationException} is recorded as such, after the cards it was dealt.
+ * 3. The players of {@link #playRound(Collection, int)} are recorded before its hands, as only they are settled.
+ * </pre>
+ */
+public class JournalingGameEngine extends ForwardingGameEngine
+{
+    private final RoundJournal journal;
+    private final JournalCallback journalCallback = new JournalCallback();
+
+    /**
+     * Wraps the engine, which should not have any players yet so the journal holds the complete game.
+     * @param gameEngine the engine to record
+     * @param journal the journal the records are appended to
+     */
+    public JournalingGameEngine(GameEngine gameEngine, RoundJournal journal)
+    {
+        super(gameEngine);
+        if (journal == null)
+            throw new IllegalArgumentException();
+
+        this.journal = journal;
+        gameEngine.addGameEngineCallback(journalCallback);
+    }
+
+    @Override
+    public void addPlayer(Player player)
+    {
+        super.addPlayer(player);
+        journal.playerAdded(player.getPlayerId(), player.getPoints());
+    }
+
+    @Override
+    public boolean removePlayer(Player player)
+    {
+        if (super.removePlayer(player))
+        {
+            journal.playerRemoved(player.getPlayerId());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean placeBet(Player player, int bet)
+    {
+        if (super.placeBet(player, bet))
+        {
+            journal.betPlaced(player.getPlayerId(), bet);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void dealPlayer(Player player, int delay) throws IllegalArgumentException
+    {
+        try
+        {
+            super.dealPlayer(player, delay);
+        }
+        catch (CancellationException exception)
+        {
+            journal.handAbandoned(player.getPlayerId());
+            throw exception;
+        }
+    }
+
+    @Override
+    public void dealHouse(int delay) throws IllegalArgumentException
+    {
+        try
+        {
+            super.dealHouse(delay);
+        }
+        catch (CancellationException exception)
+        {
+            journal.handAbandoned(null);
+            throw exception;
+        }
+    }
+
+    @Override
+    public int playRound(Collection<Player> players, int delay) throws IllegalArgumentException
+    {
+        // checked before the round is recorded, a rejected round deals nothing
+        if (delay < 0 || delay > 1000)
+            throw new IllegalArgumentException();
+
+        // the players the round deals, by the same rule as the engine
+        List<Player> dealtPlayers = new ArrayList<>(players.size());
+        for (Player player : players)
+        {
+            Player added = (player != null) ? getPlayer(player.getPlayerId()) : null;
+            if (added != null && added.getBet() > 0)
+                dealtPlayers.add(added);
+        }
+
+        journal.roundStarted();
+        for (Player player : dealtPlayers)
+            journal.roundPlayer(player.getPlayerId());
+
+        int results = journalCallback.playerResults;
+        try
+        {
+            return super.playRound(players, delay);
+        }
+        catch (CancellationException exception)
+        {
+            // the players are dealt in order then the house, hence the hand after the last result was abandoned
+            int dealt = journalCallback.playerResults - results;
+            journal.handAbandoned((dealt < dealtPlayers.size()) ? dealtPlayers.get(dealt).getPlayerId() : null);
+            throw exception;
+        }
+    }
+
+    /**
+     * Callback recording the events of the wrapped engine's deals.
+     */
+    private class JournalCallback implements GameEngineCallback
+    {
+        // the number of player results recorded, read by playRound on the dealing thread
+        private int playerResults;
+
+        @Override
+        public void nextCard(Player player, PlayingCard card, GameEngine engine)
+        {
+            journal.cardDealt(player.getPlayerId(), card, false);
+        }
+
+        @Override
+        public void bustCard(Player player, PlayingCard card, GameEngine engine)
+        {
+            journal.cardDealt(player.getPlayerId(), card, true);
+        }
+
+        @Override
+        public void result(Player player, int result, GameEngine engine)
+        {
+            journal.playerResult(player.getPlayerId(), result);
+            playerResults++;
+        }
+
+        @Override
+        public void nextHouseCard(PlayingCard card, GameEngine engine)
+        {
+            journal.cardDealt(null, card, false);
+        }
+
+        @Override
+        public void houseBustCard(PlayingCard card, GameEngine engine)
+        {
+            journal.cardDealt(null, card, true);
+        }
+
+        @Override
+        public void houseResult(int result, GameEngine engine)
+        {
+            journal.houseResult(result);
+
+            // called once win/loss is applied but before the bets are reset
+            for (Player player : engine.getAllPlayers())
+                if (player.getBet() > 0)
+                    journal.settled(player.getPlayerId(), player.getPoints());
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package model.journal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+
+/**
+ * <pre>
+ * Write-ahead log of the players' points, so settled balances survive a crash.
+ * Each entry is appended with the points a player holds after a change, and its future completes once the entry
+ * is durable. A single committer thread writes and forces all the entries appended while the previous force
+ * was running in one go (group commit), hence many tables sharing a log share the cost of each fsync.
+ * Entry layout: payload length (int), CRC32 of the length and the payload (int), then the payload of
+ * type (byte), points (int) and the player's id in UTF-8.
+ * <b>Note:</b>
+ * Entries become durable in the order they were appended, hence once an entry's future completes,
+ * every entry appended before it is durable as well.
+ * An entry torn by a crash fails its CRC, it and anything after it are dropped by {@link #recover(Path)}
+ * and truncated when the log is opened again.
+ * </pre>
+ */
+public class PointsWal implements AutoCloseable
+{
+    // the entry types
+    public static final byte POINTS = 1;
+    public static final byte REMOVED = 2;
+
+    public static final String FILE_NAME = "points.wal";
+
+    private static final int HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int FIXED_PAYLOAD_LENGTH = 1 + Integer.BYTES;
+    private static final int MAX_ID_BYTES = 1024;
+
+    private final FileChannel channel;
+    private final Thread committer;
+
+    // entries appended since the committer's last swap, guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(64 << 10);
+    private ByteBuffer writing = ByteBuffer.allocate(64 << 10);
+    private List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
+    private List<CompletableFuture<Void>> writingFutures = new ArrayList<>();
+    private boolean closed;
+    private IOException failure;
+
+    private final CRC32 crc = new CRC32();
+    private long commits;
+    private long entries;
+
+    /**
+     * Opens the log in the given directory, appending after the valid entries of any existing log.
+     * @param directory the directory of the log file, created if it does not exist
+     * @throws IOException thrown if the log cannot be opened
+     */
+    public PointsWal(Path directory) throws IOException
+    {
+        if (directory == null)
+            throw new IllegalArgumentException();
+
+        Path file = Files.createDirectories(directory).resolve(FILE_NAME);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // a torn tail is cut off, so new entries follow the last valid one
+        long validLength = scan(channel, null);
+        channel.truncate(validLength);
+        channel.position(validLength);
+        channel.force(true);
+
+        committer = new Thread(this::commitLoop, "points-wal-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Method to log the points a player holds, e.g. once their bet is settled or when they are added.
+     * @param playerId the id of the player
+     * @param points the player's points
+     * @return the future completed once the entry is durable
+     * @throws IllegalArgumentException thrown if the id is longer than 1024 bytes in UTF-8
+     */
+    public CompletableFuture<Void> append(String playerId, int points)
+    {
+        return append(POINTS, playerId, points);
+    }
+
+    /**
+     * Method to log a player being removed, so recovery does not restore their points.
+     * @param playerId the id of the player
+     * @return the future completed once the entry is durable
+     */
+    public CompletableFuture<Void> remove(String playerId)
+    {
+        return append(REMOVED, playerId, 0);
+    }
+
+    /**
+     * Method to read the points of every player from a log, as of its last durable entry.
+     * @param directory the directory of the log file
+     * @return the latest points by player id, empty if there is no log
+     * @throws IOException thrown if the log cannot be read
+     */
+    public static Map<String, Integer> recover(Path directory) throws IOException
+    {
+        Map<String, Integer> points = new HashMap<>();
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file))
+            return points;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            scan(channel, points);
+        }
+        return points;
+    }
+
+    /**
+     * Getter for the number of forces to disk so far.
+     * @return the commit count
+     */
+    public synchronized long getCommitCount()
+    {
+        return commits;
+    }
+
+    /**
+     * Getter for the number of durable entries so far, divided by {@link #getCommitCount()} the mean batch size.
+     * @return the durable entry count
+     */
+    public synchronized long getDurableCount()
+    {
+        return entries;
+    }
+
+    /**
+     * Commits the entries appended so far, then closes the log. Entries appended afterwards are rejected.
+     */
+    @Override
+    public void close()
+    {
+        synchronized (this)
+        {
+            closed = true;
+            notifyAll();
+        }
+
+        try
+        {
+            committer.join();
+            channel.close();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException exception)
+        {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Utility method to add an entry to the pending batch.
+     * @param type the type of the entry
+     * @param playerId the id of the player
+     * @param points the player's points
+     * @return the future of the entry
+     */
+    private synchronized CompletableFuture<Void> append(byte type, String playerId, int points)
+    {
+        byte[] id = playerId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_ID_BYTES)
+            throw new IllegalArgumentException();
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (closed || failure != null)
+        {
+            future.completeExceptionally((failure != null) ? new UncheckedIOException(failure)
+                    : new RejectedExecutionException("The log is closed."));
+            return future;
+        }
+
+        int payloadLength = FIXED_PAYLOAD_LENGTH + id.length;
+        if (pending.remaining() < HEADER_LENGTH + payloadLength)
+        {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, HEADER_LENGTH + payloadLength));
+            pending.flip();
+            pending = grown.put(pending);
+        }
+
+        int start = pending.position();
+        pending.putInt(payloadLength).position(start + HEADER_LENGTH);
+        pending.put(type).putInt(points).put(id);
+        pending.putInt(start + Integer.BYTES, checksum(crc, pending.array(), start, payloadLength));
+
+        pendingFutures.add(future);
+
+        // the committer only waits while nothing is pending
+        if (pendingFutures.size() == 1)
+            notifyAll();
+        return future;
+    }
+
+    /**
+     * Utility method run by the committer thread, writing and forcing every batch until the log is closed.
+     */
+    private void commitLoop()
+    {
+        while (true)
+        {
+            IOException interruption = null;
+            synchronized (this)
+            {
+                while (pendingFutures.isEmpty() && !closed && interruption == null)
+                {
+                    try
+                    {
+                        wait();
+                    }
+                    catch (InterruptedException exception)
+                    {
+                        // nothing would ever complete the entries, the log accepts no more of them
+                        interruption = new InterruptedIOException("The log committer was interrupted.");
+                        failure = interruption;
+                    }
+                }
+
+                if (interruption == null)
+                {
+                    if (pendingFutures.isEmpty())
+                        return;
+
+                    // swap the batches, so appends carry on while this one is forced
+                    ByteBuffer batch = pending;
+                    pending = writing;
+                    writing = batch;
+                    List<CompletableFuture<Void>> futures = pendingFutures;
+                    pendingFutures = writingFutures;
+                    writingFutures = futures;
+                }
+            }
+
+            if (interruption != null)
+            {
+                failPending(interruption);
+                return;
+            }
+
+            IOException exception = null;
+            try
+            {
+                writing.flip();
+                while (writing.hasRemaining())
+                    channel.write(writing);
+                channel.force(false);
+            }
+            catch (IOException writeException)
+            {
+                exception = writeException;
+            }
+            writing.clear();
+
+            synchronized (this)
+            {
+                if (exception != null)
+                    failure = exception;
+                else
+                {
+                    commits++;
+                    entries += writingFutures.size();
+                }
+            }
+
+            for (CompletableFuture<Void> future : writingFutures)
+            {
+                if (exception == null)
+                    future.complete(null);
+                else
+                    future.completeExceptionally(new UncheckedIOException(exception));
+            }
+            writingFutures.clear();
+
+            if (exception != null)
+            {
+                failPending(exception);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Utility method to fail the entries appended after a failed write or an interrupt, the log accepts no more entries.
+     * @param exception the cause of the failure
+     */
+    private void failPending(IOException exception)
+    {
+        List<CompletableFuture<Void>> futures;
+        synchronized (this)
+        {
+            futures = pendingFutures;
+            pendingFutures = new ArrayList<>();
+            pending.clear();
+        }
+        for (CompletableFuture<Void> future : futures)
+            future.completeExceptionally(new UncheckedIOException(exception));
+    }
+
+    /**
+     * Utility method to read the valid entries of a log, from its start up to the first torn or corrupt entry.
+     * @param channel the channel of the log file
+     * @param points the map to apply the entries to, null to only find the valid length
+     * @return the length of the valid entries in bytes
+     * @throws IOException thrown if the log cannot be read
+     */
+    private static long scan(FileChannel channel, Map<String, Integer> points) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        CRC32 crc = new CRC32();
+        long valid = 0;
+        long position = 0;
+
+        buffer.flip();
+        while (true)
+        {
+            // refill once the next entry's header or payload is not buffered completely
+            if (buffer.remaining() < HEADER_LENGTH
+                    || buffer.remaining() < HEADER_LENGTH + Math.max(buffer.getInt(buffer.position()), 0))
+            {
+                // a length beyond any entry's can only be a torn or corrupt entry
+                if (buffer.remaining() >= HEADER_LENGTH
+                        && buffer.getInt(buffer.position()) > FIXED_PAYLOAD_LENGTH + MAX_ID_BYTES)
+                    return valid;
+
+                buffer.compact();
+                int read = channel.read(buffer, position);
+                buffer.flip();
+                if (read <= 0)
+                    return valid;
+                position += read;
+                continue;
+            }
+
+            int start = buffer.position();
+            int payloadLength = buffer.getInt(start);
+            int checksum = buffer.getInt(start + Integer.BYTES);
+            if (payloadLength < FIXED_PAYLOAD_LENGTH)
+                return valid;
+
+            if (checksum(crc, buffer.array(), start, payloadLength) != checksum)
+                return valid;
+
+            buffer.position(start + HEADER_LENGTH);
+            byte type = buffer.get();
+            int entryPoints = buffer.getInt();
+            byte[] id = new byte[payloadLength - FIXED_PAYLOAD_LENGTH];
+            buffer.get(id);
+
+            if (points != null)
+            {
+                String playerId = new String(id, StandardCharsets.UTF_8);
+                if (type == REMOVED)
+                    points.remove(playerId);
+                else
+                    points.put(playerId, entryPoints);
+            }
+            valid += HEADER_LENGTH + payloadLength;
+        }
+    }
+
+    /**
+     * <pre>
+     * Utility method to compute the CRC32 of an entry's length and payload, skipping the checksum in between.
+     * Hence a corrupt length fails the check like a corrupt payload does.
+     * </pre>
+     * @param crc the CRC32 to reuse
+     * @param entries the array holding the entry
+     * @param start the offset of the entry in the array
+     * @param payloadLength the length of the entry's payload
+     * @return the checksum
+     */
+    private static int checksum(CRC32 crc, byte[] entries, int start, int payloadLength)
+    {
+        crc.reset();
+        crc.update(entries, start, Integer.BYTES);
+        crc.update(entries, start + HEADER_LENGTH, payloadLength);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,390 @@
+package model.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import model.CardRegistry;
+import model.interfaces.PlayingCard;
+
+/**
+ * <pre>
+ * Append-only journal of game events in compact binary records, written to memory-mapped segment files.
+ * Each record is a type byte followed by its fields: cards as their {@link CardRegistry} ordinal (one byte),
+ * players as an index into the segment's interned ids and numbers as (zigzag) varints.
+ * A new segment is started once the current one is full, and the written records are forced to disk on
+ * a fixed interval (group commit) rather than for each record.
+ * <b>Note:</b>
+ * The unused tail of a segment is zero filled, i.e. a record type of {@link #END_OF_SEGMENT}.
+ * Each segment interns its player ids again, so segments can be read independently.
+ * </pre>
+ */
+public class RoundJournal implements AutoCloseable
+{
+    // the record types, followed by their fields
+    public static final byte END_OF_SEGMENT = 0;
+    public static final byte PLAYER_ID = 1;        // index, byte length, UTF-8 bytes
+    public static final byte PLAYER_ADDED = 2;     // index, points
+    public static final byte PLAYER_REMOVED = 3;   // index
+    public static final byte BET_PLACED = 4;       // index, bet
+    public static final byte PLAYER_CARD = 5;      // index, card
+    public static final byte PLAYER_BUST_CARD = 6; // index, card
+    public static final byte PLAYER_RESULT = 7;    // index, result
+    public static final byte HOUSE_CARD = 8;       // card
+    public static final byte HOUSE_BUST_CARD = 9;  // card
+    public static final byte HOUSE_RESULT = 10;    // result
+    public static final byte SETTLED = 11;         // index, points
+    public static final byte ROUND_STARTED = 12;   // none, followed by the round's players
+    public static final byte ROUND_PLAYER = 13;    // index
+    public static final byte HAND_ABANDONED = 14;  // index
+    public static final byte HOUSE_ABANDONED = 15; // none
+
+    public static final String SEGMENT_SUFFIX = ".journal";
+
+    // the largest record other than PLAYER_ID, i.e. a type byte and two varints
+    private static final int MAX_RECORD_LENGTH = 1 + 5 + 5;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ScheduledExecutorService committer;
+
+    private final Map<String, Integer> playerIndexes = new HashMap<>();
+    private volatile MappedByteBuffer segment;
+    private volatile boolean dirty;
+    private int segmentNumber;
+
+    /**
+     * Creates a journal writing 64 MiB segments, forced to disk every 100 ms.
+     * @param directory the directory of the segment files, created if it does not exist
+     * @throws IOException thrown if the first segment cannot be created
+     */
+    public RoundJournal(Path directory) throws IOException
+    {
+        this(directory, 64 << 20, 100);
+    }
+
+    /**
+     * <pre>
+     * Creates a journal, new segments are numbered after any segments already in the directory.
+     * </pre>
+     * @param directory the directory of the segment files, created if it does not exist
+     * @param segmentSize the size of each segment file in bytes
+     * @param forceIntervalMillis the interval at which written records are forced to disk
+     * @throws IOException thrown if the first segment cannot be created
+     */
+    public RoundJournal(Path directory, int segmentSize, long forceIntervalMillis) throws IOException
+    {
+        if (directory == null || segmentSize < 1024 || forceIntervalMillis < 1)
+            throw new IllegalArgumentException();
+
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX))
+        {
+            for (Path existing : segments)
+                segmentNumber = Math.max(segmentNumber, segmentNumber(existing) + 1);
+        }
+        segment = map(segmentNumber);
+
+        committer = Executors.newSingleThreadScheduledExecutor(task ->
+        {
+            Thread thread = new Thread(task, "journal-committer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commit, forceIntervalMillis, forceIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method to retrieve the number of a segment file from its name.
+     * @param segmentFile the path of the segment
+     * @return the segment number
+     */
+    public static int segmentNumber(Path segmentFile)
+    {
+        String name = segmentFile.getFileName().toString();
+        return Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Method to record a player being added.
+     * @param playerId the id of the player
+     * @param points the player's points when added
+     */
+    public synchronized void playerAdded(String playerId, int points)
+    {
+        int index = intern(playerId);
+        segment.put(PLAYER_ADDED);
+        putVarInt(index);
+        putVarInt(zigzag(points));
+        dirty = true;
+    }
+
+    /**
+     * Method to record a player being removed.
+     * @param playerId the id of the player
+     */
+    public synchronized void playerRemoved(String playerId)
+    {
+        int index = intern(playerId);
+        segment.put(PLAYER_REMOVED);
+        putVarInt(index);
+        dirty = true;
+    }
+
+    /**
+     * Method to record a bet being placed.
+     * @param playerId the id of the player
+     * @param bet the bet in points
+     */
+    public synchronized void betPlaced(String playerId, int bet)
+    {
+        int index = intern(playerId);
+        segment.put(BET_PLACED);
+        putVarInt(index);
+        putVarInt(bet);
+        dirty = true;
+    }
+
+    /**
+     * Method to record a card dealt to a player or the house.
+     * @param playerId the id of the player, null for the house
+     * @param card the dealt card
+     * @param bust true if the card caused a bust
+     */
+    public synchronized void cardDealt(String playerId, PlayingCard card, boolean bust)
+    {
+        if (playerId == null)
+        {
+            ensureCapacity(MAX_RECORD_LENGTH);
+            segment.put(bust ? HOUSE_BUST_CARD : HOUSE_CARD);
+        }
+        else
+        {
+            int index = intern(playerId);
+            segment.put(bust ? PLAYER_BUST_CARD : PLAYER_CARD);
+            putVarInt(index);
+        }
+        segment.put((byte) CardRegistry.ordinal(card));
+        dirty = true;
+    }
+
+    /**
+     * Method to record the result of a player's hand.
+     * @param playerId the id of the player
+     * @param result the final score of the hand
+     */
+    public synchronized void playerResult(String playerId, int result)
+    {
+        int index = intern(playerId);
+        segment.put(PLAYER_RESULT);
+        putVarInt(index);
+        putVarInt(result);
+        dirty = true;
+    }
+
+    /**
+     * Method to record the result of the house's hand.
+     * @param result the final score of the hand
+     */
+    public synchronized void houseResult(int result)
+    {
+        ensureCapacity(MAX_RECORD_LENGTH);
+        segment.put(HOUSE_RESULT);
+        putVarInt(result);
+        dirty = true;
+    }
+
+    /**
+     * Method to record a player's points once their bet is settled.
+     * @param playerId the id of the player
+     * @param points the player's points after the win/loss was applied
+     */
+    public synchronized void settled(String playerId, int points)
+    {
+        int index = intern(playerId);
+        segment.put(SETTLED);
+        putVarInt(index);
+        putVarInt(zigzag(points));
+        dirty = true;
+    }
+
+    /**
+     * <pre>
+     * Method to record the start of a round played in one call, see {@link model.interfaces.GameEngine#playRound}.
+     * <b>Note:</b> Followed by a {@link #roundPlayer(String)} record for each player dealt in the round.
+     * </pre>
+     */
+    public synchronized void roundStarted()
+    {
+        ensureCapacity(MAX_RECORD_LENGTH);
+        segment.put(ROUND_STARTED);
+        dirty = true;
+    }
+
+    /**
+     * Method to record a player dealt in the round started by {@link #roundStarted()}, in the order they are dealt.
+     * @param playerId the id of the player
+     */
+    public synchronized void roundPlayer(String playerId)
+    {
+        int index = intern(playerId);
+        segment.put(ROUND_PLAYER);
+        putVarInt(index);
+        dirty = true;
+    }
+
+    /**
+     * Method to record a hand abandoned before its result, i.e. its recorded cards were dealt but nothing else.
+     * @param playerId the id of the player, null for the house
+     */
+    public synchronized void handAbandoned(String playerId)
+    {
+        if (playerId == null)
+        {
+            ensureCapacity(MAX_RECORD_LENGTH);
+            segment.put(HOUSE_ABANDONED);
+        }
+        else
+        {
+            int index = intern(playerId);
+            segment.put(HAND_ABANDONED);
+            putVarInt(index);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Forces the written records to disk and stops the periodic commits.
+     */
+    @Override
+    public void close()
+    {
+        committer.shutdownNow();
+        synchronized (this)
+        {
+            segment.force();
+        }
+    }
+
+    /**
+     * Utility method for the committer to force the records written since the last commit to disk.
+     */
+    private void commit()
+    {
+        if (dirty)
+        {
+            dirty = false;
+            segment.force();
+        }
+    }
+
+    /**
+     * Utility method to look up a player's index in the current segment, interning the id if necessary.
+     * Also makes sure the segment has room for the record that follows.
+     * @param playerId the id of the player
+     * @return the index of the id in the current segment
+     */
+    private int intern(String playerId)
+    {
+        Integer index = playerIndexes.get(playerId);
+        if (index != null && segment.remaining() >= MAX_RECORD_LENGTH)
+            return index;
+
+        byte[] encoded = playerId.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(1 + 5 + 5 + encoded.length + MAX_RECORD_LENGTH);
+
+        // the segment may have rolled over, in which case the id is interned again
+        index = playerIndexes.get(playerId);
+        if (index == null)
+        {
+            index = playerIndexes.size();
+            playerIndexes.put(playerId, index);
+
+            segment.put(PLAYER_ID);
+            putVarInt(index);
+            putVarInt(encoded.length);
+            segment.put(encoded);
+        }
+        return index;
+    }
+
+    /**
+     * Utility method to start a new segment if the current one does not have room for a record.
+     * @param length the length of the record in bytes
+     */
+    private void ensureCapacity(int length)
+    {
+        if (length > segmentSize)
+            throw new IllegalArgumentException();
+
+        if (segment.remaining() < length)
+        {
+            try
+            {
+                segment.force();
+                segment = map(++segmentNumber);
+                playerIndexes.clear();
+            }
+            catch (IOException exception)
+            {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    /**
+     * Utility method to create and map a segment file.
+     * @param number the number of the segment
+     * @return the mapped segment
+     * @throws IOException thrown if the file cannot be created or mapped
+     */
+    private MappedByteBuffer map(int number) throws IOException
+    {
+        Path file = directory.resolve(String.format("%010d%s", number, SEGMENT_SUFFIX));
+
+        // the mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    /**
+     * Utility method to write an unsigned variable length integer, 7 bits per byte.
+     * @param value the value to write, treated as unsigned
+     */
+    private void putVarInt(int value)
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            segment.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        segment.put((byte) value);
+    }
+
+    /**
+     * Utility method to map signed values to unsigned ones so small negative numbers stay short.
+     * @param value the signed value
+     * @return the zigzag encoded value
+     */
+    private static int zigzag(int value)
+    {
+        return (value << 1) ^ (value >> 31);
+    }
+}
@@ -0,0 +1,226 @@
+package model.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Latency recorders for the phases of a game engine, i.e. dealing, settlement and callback dispatch,
+ * plus one recorder per callback instance. Published as an MXBean once {@link #register(String)} is called.
+ * <b>Note:</b>
+ * 1. A single instance may be shared by many engines, e.g. all the tables of a server.
+ * 2. The engines look up a callback's recorder once, when the callback is added, and time its events
+ * without going through these metrics. A callback is forgotten once every engine it was added to removed it.
+ * </pre>
+ */
+public class EngineMetrics implements EngineMetricsMXBean
+{
+    private final LatencyRecorder dealPlayer = new LatencyRecorder();
+    private final LatencyRecorder dealHouse = new LatencyRecorder();
+    private final LatencyRecorder settlement = new LatencyRecorder();
+    private final LatencyRecorder callbackDispatch = new LatencyRecorder();
+
+    // recorders of the callbacks added to the engines, by identity, guarded by itself
+    private final Map<GameEngineCallback, CallbackRecorder> callbacks = new IdentityHashMap<>();
+
+    private ObjectName objectName;
+
+    /**
+     * Method to record the latency of a player's hand.
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordDealPlayer(long nanos)
+    {
+        dealPlayer.record(nanos);
+    }
+
+    /**
+     * Method to record the latency of the house's hand.
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordDealHouse(long nanos)
+    {
+        dealHouse.record(nanos);
+    }
+
+    /**
+     * Method to record the latency of settling a round.
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordSettlement(long nanos)
+    {
+        settlement.record(nanos);
+    }
+
+    /**
+     * Method to record the latency of notifying all callbacks of an event.
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordCallbackDispatch(long nanos)
+    {
+        callbackDispatch.record(nanos);
+    }
+
+    /**
+     * <pre>
+     * Method to get the recorder of a callback added to an engine, to record the latency of each event it handles.
+     * <b>Note:</b> Two instances of the same class are timed apart, even if the class overrides equals.
+     * </pre>
+     * @param callback the callback added to the engine
+     * @return the callback's recorder, shared by every engine the callback is added to
+     */
+    public LatencyRecorder addCallback(GameEngineCallback callback)
+    {
+        synchronized (callbacks)
+        {
+            CallbackRecorder recorder = callbacks.get(callback);
+            if (recorder == null)
+            {
+                recorder = new CallbackRecorder(callback);
+                callbacks.put(callback, recorder);
+            }
+            recorder.engines++;
+            return recorder.recorder;
+        }
+    }
+
+    /**
+     * Method to forget the recorder of a callback removed from an engine, once no other engine has it.
+     * @param callback the callback removed from the engine
+     */
+    public void removeCallback(GameEngineCallback callback)
+    {
+        synchronized (callbacks)
+        {
+            CallbackRecorder recorder = callbacks.get(callback);
+            if (recorder != null && --recorder.engines == 0)
+                callbacks.remove(callback);
+        }
+    }
+
+    @Override
+    public LatencySnapshot getDealPlayerLatency()
+    {
+        return dealPlayer.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getDealHouseLatency()
+    {
+        return dealHouse.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getSettlementLatency()
+    {
+        return settlement.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getCallbackDispatchLatency()
+    {
+        return callbackDispatch.snapshot();
+    }
+
+    @Override
+    public Map<String, LatencySnapshot> getCallbackLatencies()
+    {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        synchronized (callbacks)
+        {
+            for (CallbackRecorder recorder : callbacks.values())
+                snapshots.put(recorder.name, recorder.recorder.snapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    public void reset()
+    {
+        dealPlayer.reset();
+        dealHouse.reset();
+        settlement.reset();
+        callbackDispatch.reset();
+
+        // the callbacks stay listed, as the engines keep recording into their recorders
+        synchronized (callbacks)
+        {
+            for (CallbackRecorder recorder : callbacks.values())
+                recorder.recorder.reset();
+        }
+    }
+
+    /**
+     * Method to publish the metrics through the platform MBean server.
+     * @param name the name distinguishing these metrics, e.g. the table's id
+     * @throws IllegalStateException thrown if metrics of the same name are already registered
+     */
+    public synchronized void register(String name) throws IllegalStateException
+    {
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName registered = new ObjectName(String.format("model.metrics:type=EngineMetrics,name=%s",
+                    ObjectName.quote(name)));
+            server.registerMBean(this, registered);
+            objectName = registered;
+        }
+        catch (InstanceAlreadyExistsException exception)
+        {
+            throw new IllegalStateException(exception);
+        }
+        catch (JMException exception)
+        {
+            throw new IllegalArgumentException(exception);
+        }
+    }
+
+    /**
+     * Method to withdraw the metrics from the platform MBean server, e.g. when the table closes.
+     */
+    public synchronized void unregister()
+    {
+        if (objectName == null)
+            return;
+
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        }
+        catch (InstanceNotFoundException exception)
+        {
+            // already gone
+        }
+        catch (JMException exception)
+        {
+            exception.printStackTrace();
+        }
+        objectName = null;
+    }
+
+    /**
+     * Recorder of a callback, with the number of engines the callback is added to.
+     */
+    private static final class CallbackRecorder
+    {
+        private final LatencyRecorder recorder = new LatencyRecorder();
+        private final String name;
+        private int engines;
+
+        private CallbackRecorder(GameEngineCallback callback)
+        {
+            // as Object.toString, which the callback may override
+            name = callback.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(callback));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package model.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link EngineMetrics}, all latencies in nanoseconds.
+ */
+public interface EngineMetricsMXBean
+{
+    /**
+     * Getter for the latency of whole player hands, including the delays and callbacks.
+     * @return the snapshot of the dealPlayer latencies
+     */
+    LatencySnapshot getDealPlayerLatency();
+
+    /**
+     * Getter for the latency of whole house hands, including the delays, settlement and callbacks.
+     * @return the snapshot of the dealHouse latencies
+     */
+    LatencySnapshot getDealHouseLatency();
+
+    /**
+     * Getter for the latency of applying the win/loss of all the players of a round.
+     * @return the snapshot of the settlement latencies
+     */
+    LatencySnapshot getSettlementLatency();
+
+    /**
+     * Getter for the latency of notifying all callbacks of a single event.
+     * @return the snapshot of the callback dispatch latencies
+     */
+    LatencySnapshot getCallbackDispatchLatency();
+
+    /**
+     * Getter for the latency of each callback, to spot slow observers.
+     * @return the snapshots keyed by the class name and identity hash code of the callback, e.g. Class@1b6d3586
+     */
+    Map<String, LatencySnapshot> getCallbackLatencies();
+
+    /**
+     * Method to clear all the recorded latencies, including the callbacks' recorders.
+     */
+    void reset();
+}
@@ -0,0 +1,120 @@
+package model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <pre>
+ * Lock-free histogram of latencies in nanoseconds, with log-linear buckets in the style of HdrHistogram:
+ * every power of two range is split into 32 linear sub-buckets, hence any recorded value is reported
+ * within about 3% of its true value while the whole range of a long fits into 1888 counters.
+ * Recording is a few shifts and an atomic increment, without any allocation.
+ * </pre>
+ */
+public class LatencyRecorder
+{
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Method to record a single latency.
+     * @param nanos the latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos)
+    {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucket(value));
+        total.addAndGet(value);
+
+        long previous;
+        while (value > (previous = max.get()) && !max.compareAndSet(previous, value)) {}
+    }
+
+    /**
+     * <pre>
+     * Method to take a snapshot of the recorded latencies.
+     * <b>Note:</b> Recording carries on while the snapshot is taken, hence it may be off by the latencies
+     * recorded meanwhile, which is acceptable for monitoring.
+     * </pre>
+     * @return the count, mean, maximum and percentiles recorded so far
+     */
+    public LatencySnapshot snapshot()
+    {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+
+        long maximum = max.get();
+        return new LatencySnapshot(count, (count == 0) ? 0 : (double) total.get() / count, maximum,
+                percentile(copy, count, 0.50, maximum),
+                percentile(copy, count, 0.99, maximum),
+                percentile(copy, count, 0.999, maximum));
+    }
+
+    /**
+     * Method to clear the recorded latencies, e.g. after a deployment.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++)
+            counts.set(i, 0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * <pre>
+     * Utility method to find the bucket of a value. Values below 64 have a bucket each, above that
+     * the top 6 bits of a value (5 after the leading one) select its sub-bucket within its power of two.
+     * </pre>
+     * @param value the non-negative value
+     * @return the index of the bucket
+     */
+    private static int bucket(long value)
+    {
+        int shift = Math.max(0, (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Utility method to find the highest value that falls into a bucket.
+     * @param bucket the index of the bucket
+     * @return the bucket's upper bound
+     */
+    private static long highestValue(int bucket)
+    {
+        int shift = Math.max(0, bucket / SUB_BUCKETS - 1);
+        long top = bucket - (long) shift * SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+
+    /**
+     * Utility method to find the value at or below which the given fraction of the values were recorded.
+     * @param counts the counts of the buckets
+     * @param count the total count
+     * @param fraction the percentile as a fraction, e.g. 0.99
+     * @param maximum the largest recorded value, bounding the result
+     * @return the percentile value, 0 if nothing was recorded
+     */
+    private static long percentile(long[] counts, long count, double fraction, long maximum)
+    {
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(highestValue(i), maximum);
+        }
+        return 0;
+    }
+}
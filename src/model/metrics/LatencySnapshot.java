@@ -0,0 +1,93 @@
+package model.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable summary of a {@link LatencyRecorder} at one point in time, all latencies in nanoseconds.
+ * Published through JMX as composite data, hence the getters.
+ */
+public class LatencySnapshot
+{
+    private final long count;
+    private final double mean;
+    private final long max;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+
+    @ConstructorProperties({"count", "mean", "max", "p50", "p99", "p999"})
+    public LatencySnapshot(long count, double mean, long max, long p50, long p99, long p999)
+    {
+        this.count = count;
+        this.mean = mean;
+        this.max = max;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    /**
+     * Getter for the number of recorded latencies.
+     * @return the count
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Getter for the mean latency.
+     * @return the mean in nanoseconds
+     */
+    public double getMean()
+    {
+        return mean;
+    }
+
+    /**
+     * Getter for the largest latency.
+     * @return the maximum in nanoseconds
+     */
+    public long getMax()
+    {
+        return max;
+    }
+
+    /**
+     * Getter for the median latency.
+     * @return the 50th percentile in nanoseconds
+     */
+    public long getP50()
+    {
+        return p50;
+    }
+
+    /**
+     * Getter for the 99th percentile latency.
+     * @return the 99th percentile in nanoseconds
+     */
+    public long getP99()
+    {
+        return p99;
+    }
+
+    /**
+     * Getter for the 99.9th percentile latency.
+     * @return the 99.9th percentile in nanoseconds
+     */
+    public long getP999()
+    {
+        return p999;
+    }
+
+    /**
+     * Overridden {@link Object#toString()} method.
+     * @return the summary in microseconds
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("count=%d, mean=%.1fus, p50=%.1fus, p99=%.1fus, p999=%.1fus, max=%.1fus",
+                count, mean / 1e3, p50 / 1e3, p99 / 1e3, p999 / 1e3, max / 1e3);
+    }
+}
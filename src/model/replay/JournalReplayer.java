@@ -0,0 +1,459 @@
+package model.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.GameEngineImpl;
+import model.ShuffleSources;
+import model.SimplePlayer;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayingCard;
+import model.interfaces.ShuffleSource;
+import model.journal.JournalReader;
+import model.journal.RoundJournal;
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Replays the game recorded in a {@link RoundJournal} on a new {@link GameEngineImpl}, dealing with a delay of 0,
+ * and verifies every dealt card, result and settled balance against the journal.
+ * The decks are either rebuilt from the recorded cards, see {@link ReplayShuffleSource}, or shuffled from the seed
+ * the game was played with, see {@link ShuffleSources#seeded(long)}.
+ * The callbacks added to the replayer are added to every replay engine, hence they receive the original events again.
+ * <b>Note:</b>
+ * 1. Hands are replayed one at a time in the order their results were recorded, as the engine deals them,
+ * except the hands of a recorded round of playRound, which are replayed by playRound so only its players are settled.
+ * 2. An abandoned hand is dealt its recorded cards and abandoned again, without a result or settlement.
+ * 3. Players are replayed as {@link SimplePlayer}s named after their id, since the journal does not hold names.
+ * </pre>
+ */
+public class JournalReplayer
+{
+    private final int threads;
+    private final List<GameEngineCallback> callbacks = new ArrayList<>();
+
+    /**
+     * Creates a replayer with one worker per available processor for {@link #replayAll(List)}.
+     */
+    public JournalReplayer()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a replayer with the given number of workers for {@link #replayAll(List)}.
+     * @param threads the number of worker threads
+     */
+    public JournalReplayer(int threads)
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException();
+        this.threads = threads;
+    }
+
+    /**
+     * Method to add a callback to the replay engines, e.g. a logging callback to reconstruct a disputed round.
+     * Callbacks are shared by the replays of {@link #replayAll(List)}, hence must be thread safe in that case.
+     * @param gameEngineCallback the callback to add
+     */
+    public void addGameEngineCallback(GameEngineCallback gameEngineCallback)
+    {
+        callbacks.add(gameEngineCallback);
+    }
+
+    /**
+     * Method to replay a journal with the decks rebuilt from its recorded cards.
+     * @param directory the directory of the journal
+     * @return the report of the replay
+     */
+    public ReplayReport replay(Path directory)
+    {
+        return replay(directory, null);
+    }
+
+    /**
+     * Method to replay a journal with the decks shuffled from the seed of the recorded game.
+     * @param directory the directory of the journal
+     * @param seed the seed the recorded engine's {@link ShuffleSources#seeded(long)} source was created with
+     * @return the report of the replay
+     */
+    public ReplayReport replay(Path directory, long seed)
+    {
+        return replay(directory, Long.valueOf(seed));
+    }
+
+    /**
+     * Method to replay many journals in parallel, each with the decks rebuilt from its recorded cards.
+     * @param directories the directories of the journals, e.g. one per table
+     * @return the reports of the replays, in the order of the directories
+     * @throws InterruptedException thrown if interrupted while waiting for the workers
+     */
+    public List<ReplayReport> replayAll(List<Path> directories) throws InterruptedException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(directories.size(), 1)));
+        List<Callable<ReplayReport>> replays = new ArrayList<>();
+        for (Path directory : directories)
+            replays.add(() -> replay(directory));
+
+        try
+        {
+            List<ReplayReport> reports = new ArrayList<>();
+            for (Future<ReplayReport> future : executor.invokeAll(replays))
+                reports.add(future.get());
+            return reports;
+        }
+        catch (ExecutionException exception)
+        {
+            throw new IllegalStateException(exception.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Utility method to replay a journal, failures are reported rather than thrown.
+     * @param directory the directory of the journal
+     * @param seed the seed of the recorded game, null to rebuild the decks from the recorded cards
+     * @return the report of the replay
+     */
+    private ReplayReport replay(Path directory, Long seed)
+    {
+        ReplayReport report = new ReplayReport(directory);
+        long start = System.nanoTime();
+
+        try
+        {
+            // the decks are read ahead of the records being replayed by a second reader
+            ShuffleSource shuffleSource = (seed == null)
+                    ? new ReplayShuffleSource(new JournalReader(directory))
+                    : ShuffleSources.seeded(seed);
+            replay(new JournalReader(directory), new GameEngineImpl(shuffleSource), report);
+        }
+        catch (IOException | UncheckedIOException | IllegalStateException | IllegalArgumentException exception)
+        {
+            report.setFailure(exception.toString());
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Utility method to drive the engine with the journal's records.
+     * @param records the reader of the journal
+     * @param gameEngine the engine to replay on
+     * @param report the report to record the replay in
+     * @throws IOException thrown if the journal cannot be read
+     */
+    private void replay(JournalReader records, GameEngineImpl gameEngine, ReplayReport report) throws IOException
+    {
+        HandRecorder dealt = new HandRecorder();
+        gameEngine.addGameEngineCallback(dealt);
+        for (GameEngineCallback callback : callbacks)
+            gameEngine.addGameEngineCallback(callback);
+
+        // the cards recorded for the hand being dealt, verified once its result is reached
+        List<PlayingCard> recorded = new ArrayList<>();
+
+        // the players and hands of the round of playRound being replayed, null outside of such a round
+        List<Player> roundPlayers = null;
+        List<RecordedHand> roundHands = new ArrayList<>();
+
+        while (records.next())
+        {
+            String id = records.getPlayerId();
+            Player player = (id != null) ? gameEngine.getPlayer(id) : null;
+
+            switch (records.getType())
+            {
+                case RoundJournal.PLAYER_ADDED:
+                    gameEngine.addPlayer(new SimplePlayer(id, id, records.getValue()));
+                    break;
+                case RoundJournal.PLAYER_REMOVED:
+                    if (!gameEngine.removePlayer(player))
+                        report.recordMismatch(String.format("Removed player %s does not exist.", id));
+                    break;
+                case RoundJournal.BET_PLACED:
+                    if (player == null || !gameEngine.placeBet(player, records.getValue()))
+                        report.recordMismatch(String.format("Bet of %d by player %s was not accepted.",
+                                records.getValue(), id));
+                    break;
+                case RoundJournal.PLAYER_CARD:
+                case RoundJournal.PLAYER_BUST_CARD:
+                case RoundJournal.HOUSE_CARD:
+                case RoundJournal.HOUSE_BUST_CARD:
+                    recorded.add(records.getCard());
+                    break;
+                case RoundJournal.ROUND_STARTED:
+                    roundPlayers = new ArrayList<>();
+                    roundHands.clear();
+                    break;
+                case RoundJournal.ROUND_PLAYER:
+                    if (player == null || roundPlayers == null)
+                        report.recordMismatch(String.format("Round player %s does not exist.", id));
+                    else
+                        roundPlayers.add(player);
+                    break;
+                case RoundJournal.PLAYER_RESULT:
+                case RoundJournal.HAND_ABANDONED:
+                {
+                    boolean abandoned = records.getType() == RoundJournal.HAND_ABANDONED;
+                    RecordedHand hand = new RecordedHand(String.format("player %s", id), false, recorded,
+                            abandoned ? RecordedHand.ABANDONED : records.getValue());
+                    recorded.clear();
+
+                    // the round's hands are dealt by a single call, once its last hand is reached
+                    if (roundPlayers != null)
+                    {
+                        roundHands.add(hand);
+                        if (abandoned)
+                        {
+                            replayRound(gameEngine, roundPlayers, roundHands, dealt, report);
+                            roundPlayers = null;
+                        }
+                    }
+                    else if (player == null)
+                        report.recordMismatch(String.format("Dealt player %s does not exist.", id));
+                    else
+                        replayHands(() -> gameEngine.dealPlayer(player, 0), Collections.singletonList(hand),
+                                dealt, report);
+                    break;
+                }
+                case RoundJournal.HOUSE_RESULT:
+                case RoundJournal.HOUSE_ABANDONED:
+                {
+                    boolean abandoned = records.getType() == RoundJournal.HOUSE_ABANDONED;
+                    RecordedHand hand = new RecordedHand(String.format("house (round %d)", report.getRounds() + 1),
+                            true, recorded, abandoned ? RecordedHand.ABANDONED : records.getValue());
+                    recorded.clear();
+
+                    // only the round's players are settled by a round of playRound, every bettor by dealHouse
+                    if (roundPlayers != null)
+                    {
+                        roundHands.add(hand);
+                        replayRound(gameEngine, roundPlayers, roundHands, dealt, report);
+                        roundPlayers = null;
+                    }
+                    else
+                        replayHands(() -> gameEngine.dealHouse(0), Collections.singletonList(hand), dealt, report);
+                    break;
+                }
+                case RoundJournal.SETTLED:
+                    if (player == null || player.getPoints() != records.getValue())
+                        report.recordMismatch(String.format("Player %s settled at %d points, replayed %s.",
+                                id, records.getValue(), (player == null) ? "without the player" : player.getPoints()));
+                    else
+                        report.recordSettlement();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Utility method to replay a round of {@link GameEngine#playRound(java.util.Collection, int)}.
+     * @param gameEngine the engine to replay on
+     * @param roundPlayers the players of the round
+     * @param roundHands the recorded hands of the round, the players' then the house's
+     * @param dealt the recorder of the replayed hands
+     * @param report the report to record the replay in
+     */
+    private static void replayRound(GameEngineImpl gameEngine, List<Player> roundPlayers,
+            List<RecordedHand> roundHands, HandRecorder dealt, ReplayReport report)
+    {
+        List<Player> players = new ArrayList<>(roundPlayers);
+        replayHands(() -> gameEngine.playRound(players, 0), new ArrayList<>(roundHands), dealt, report);
+        roundHands.clear();
+    }
+
+    /**
+     * <pre>
+     * Utility method to replay the hands dealt by a single call of the engine and compare them with the recorded ones.
+     * A recorded hand that was abandoned is abandoned again once its recorded cards are dealt, by interrupting
+     * the replaying thread as the engine checks before each card, hence the deck advances by the same cards
+     * and nothing is settled.
+     * </pre>
+     * @param deal the call dealing the hands
+     * @param hands the recorded hands, of which only the last may be abandoned
+     * @param dealt the recorder of the replayed hands
+     * @param report the report to record any differences in
+     */
+    private static void replayHands(Runnable deal, List<RecordedHand> hands, HandRecorder dealt,
+            ReplayReport report)
+    {
+        RecordedHand last = hands.get(hands.size() - 1);
+        boolean abandoned = last.result == RecordedHand.ABANDONED;
+
+        int cards = 0;
+        for (RecordedHand hand : hands)
+            cards += hand.cards.size();
+
+        dealt.start(abandoned ? cards : -1);
+        try
+        {
+            deal.run();
+            if (abandoned)
+                report.recordMismatch(String.format("Hand of %s was abandoned, replayed to its result.", last.hand));
+        }
+        catch (CancellationException exception)
+        {
+            if (!abandoned)
+                throw exception;
+        }
+        finally
+        {
+            // the interrupt only abandons the replayed hand
+            if (abandoned)
+                Thread.interrupted();
+        }
+
+        int from = 0;
+        for (int i = 0; i < hands.size(); i++)
+        {
+            RecordedHand hand = hands.get(i);
+            int to = (i < dealt.handEnds.size()) ? dealt.handEnds.get(i) : dealt.cards.size();
+            int result = (i < dealt.results.size()) ? dealt.results.get(i) : RecordedHand.ABANDONED;
+            List<PlayingCard> dealtCards = dealt.cards.subList(Math.min(from, to), to);
+
+            if (!hand.cards.equals(dealtCards))
+                report.recordMismatch(String.format("Cards of %s were %s, replayed %s.", hand.hand, hand.cards,
+                        dealtCards));
+            if (hand.result != result)
+                report.recordMismatch(String.format("Result of %s was %d, replayed %d.", hand.hand, hand.result, result));
+
+            if (hand.house && hand.result != RecordedHand.ABANDONED)
+                report.recordRound(dealtCards.size());
+            else
+                report.recordHand(dealtCards.size());
+            from = to;
+        }
+    }
+
+    /**
+     * The cards and result of a hand as recorded in the journal.
+     */
+    private static class RecordedHand
+    {
+        // the result of a hand abandoned before its end, as no hand scores below 0
+        private static final int ABANDONED = -1;
+
+        private final String hand;
+        private final boolean house;
+        private final List<PlayingCard> cards;
+        private final int result;
+
+        /**
+         * Creates the hand.
+         * @param hand the description of whose hand it is
+         * @param house true for the house's hand
+         * @param cards the recorded cards, copied
+         * @param result the recorded result, {@link #ABANDONED} if the hand was abandoned
+         */
+        private RecordedHand(String hand, boolean house, List<PlayingCard> cards, int result)
+        {
+            this.hand = hand;
+            this.house = house;
+            this.cards = new ArrayList<>(cards);
+            this.result = result;
+        }
+    }
+
+    /**
+     * Callback recording the cards and results of the hands being replayed, abandoning them on request.
+     */
+    private static class HandRecorder implements GameEngineCallback
+    {
+        private final List<PlayingCard> cards = new ArrayList<>();
+
+        // the number of cards dealt when each hand ended, and its result
+        private final List<Integer> handEnds = new ArrayList<>();
+        private final List<Integer> results = new ArrayList<>();
+        private int abandonAfter;
+
+        /**
+         * Method to clear the previous hands before dealing the next.
+         * @param abandonAfter the number of cards after which the hand being dealt is abandoned, -1 for none
+         */
+        private void start(int abandonAfter)
+        {
+            cards.clear();
+            handEnds.clear();
+            results.clear();
+            this.abandonAfter = abandonAfter;
+
+            if (abandonAfter == 0)
+                Thread.currentThread().interrupt();
+        }
+
+        /**
+         * Utility method to record a dealt card.
+         * @param card the dealt card
+         */
+        private void dealt(PlayingCard card)
+        {
+            cards.add(card);
+            if (cards.size() == abandonAfter)
+                Thread.currentThread().interrupt();
+        }
+
+        /**
+         * Utility method to record the end of a hand.
+         * @param result the final score of the hand
+         */
+        private void ended(int result)
+        {
+            handEnds.add(cards.size());
+            results.add(result);
+        }
+
+        @Override
+        public void nextCard(Player player, PlayingCard card, GameEngine engine)
+        {
+            dealt(card);
+        }
+
+        @Override
+        public void bustCard(Player player, PlayingCard card, GameEngine engine)
+        {
+            dealt(card);
+        }
+
+        @Override
+        public void result(Player player, int result, GameEngine engine)
+        {
+            ended(result);
+        }
+
+        @Override
+        public void nextHouseCard(PlayingCard card, GameEngine engine)
+        {
+            dealt(card);
+        }
+
+        @Override
+        public void houseBustCard(PlayingCard card, GameEngine engine)
+        {
+            dealt(card);
+        }
+
+        @Override
+        public void houseResult(int result, GameEngine engine)
+        {
+            ended(result);
+        }
+    }
+}
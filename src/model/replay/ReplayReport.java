@@ -0,0 +1,197 @@
+package model.replay;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of replaying a journal, i.e. what was replayed and every difference from what had been recorded.
+ */
+public class ReplayReport
+{
+    // only the first differences are kept, as one out of step deal usually causes many more
+    private static final int MAX_DESCRIBED_MISMATCHES = 20;
+
+    private final Path directory;
+    private final List<String> mismatches = new ArrayList<>();
+    private long mismatchCount;
+    private long hands;
+    private long rounds;
+    private long settlements;
+    private long cards;
+    private long elapsedNanos;
+    private String failure;
+
+    /**
+     * Creates an empty report.
+     * @param directory the directory of the replayed journal
+     */
+    public ReplayReport(Path directory)
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Method to record a difference between the replay and the journal.
+     * @param description what differs, including the recorded and the replayed value
+     */
+    public void recordMismatch(String description)
+    {
+        if (mismatches.size() < MAX_DESCRIBED_MISMATCHES)
+            mismatches.add(description);
+        mismatchCount++;
+    }
+
+    /**
+     * Method to record a replayed hand of a player.
+     * @param cards the number of cards dealt in the hand
+     */
+    public void recordHand(int cards)
+    {
+        hands++;
+        this.cards += cards;
+    }
+
+    /**
+     * Method to record a replayed hand of the house, which ends a round.
+     * @param cards the number of cards dealt in the hand
+     */
+    public void recordRound(int cards)
+    {
+        rounds++;
+        this.cards += cards;
+    }
+
+    /**
+     * Method to record a verified settlement of a player's bet.
+     */
+    public void recordSettlement()
+    {
+        settlements++;
+    }
+
+    /**
+     * Setter for the reason the replay could not be completed.
+     * @param failure the description of the failure
+     */
+    public void setFailure(String failure)
+    {
+        this.failure = failure;
+    }
+
+    /**
+     * Setter for the time taken by the replay.
+     * @param elapsedNanos the wall clock time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos)
+    {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Getter for the directory of the replayed journal.
+     * @return the journal's directory
+     */
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * Method to evaluate whether the replay reproduced the journal exactly.
+     * @return true if the replay completed without any differences, false otherwise
+     */
+    public boolean isVerified()
+    {
+        return failure == null && mismatchCount == 0;
+    }
+
+    /**
+     * Getter for the first differences found.
+     * @return the descriptions of up to 20 differences
+     */
+    public List<String> getMismatches()
+    {
+        return Collections.unmodifiableList(mismatches);
+    }
+
+    /**
+     * Getter for the number of differences found.
+     * @return the total number of differences
+     */
+    public long getMismatchCount()
+    {
+        return mismatchCount;
+    }
+
+    /**
+     * Getter for the number of replayed player hands.
+     * @return the number of hands
+     */
+    public long getHands()
+    {
+        return hands;
+    }
+
+    /**
+     * Getter for the number of replayed rounds, i.e. house hands.
+     * @return the number of rounds
+     */
+    public long getRounds()
+    {
+        return rounds;
+    }
+
+    /**
+     * Getter for the number of verified settlements.
+     * @return the number of settlements
+     */
+    public long getSettlements()
+    {
+        return settlements;
+    }
+
+    /**
+     * Getter for the number of replayed cards.
+     * @return the number of cards
+     */
+    public long getCards()
+    {
+        return cards;
+    }
+
+    /**
+     * Getter for the reason the replay could not be completed.
+     * @return the description of the failure, null if the replay completed
+     */
+    public String getFailure()
+    {
+        return failure;
+    }
+
+    /**
+     * <pre>
+     * Overridden {@link Object#toString()} method.
+     * Lists the verdict, the replayed counts and the described differences.
+     * </pre>
+     * @return a human readable report of the replay
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("%s: %s%n", directory, isVerified() ? "VERIFIED"
+                : (failure != null) ? "FAILED" : String.format("%d MISMATCHES", mismatchCount)));
+        report.append(String.format("  rounds=%d, hands=%d, cards=%d, settlements=%d in %.3f s%n",
+                rounds, hands, cards, settlements, elapsedNanos / 1e9));
+
+        if (failure != null)
+            report.append(String.format("  %s%n", failure));
+        for (String mismatch : mismatches)
+            report.append(String.format("  %s%n", mismatch));
+
+        return report.toString();
+    }
+}
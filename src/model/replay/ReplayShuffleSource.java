@@ -0,0 +1,156 @@
+package model.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import model.CardRegistry;
+import model.HalfDeck;
+import model.journal.JournalReader;
+import model.journal.RoundJournal;
+import model.interfaces.PlayingCard;
+import model.interfaces.ShuffleSource;
+
+/**
+ * <pre>
+ * {@link ShuffleSource} that makes {@link HalfDeck#shuffle()} produce the decks of a recorded game,
+ * taking the cards in the order they were dealt from a {@link JournalReader}.
+ * Since every shuffle starts from the {@link CardRegistry} ordinal order, the numbers the Fisher-Yates shuffle
+ * draws can be worked out backwards from the order the deck must end up in.
+ * <b>Note:</b>
+ * The recorded cards must form whole decks from the first card onwards, i.e. the journal was started together
+ * with its engine. The deck in use once the journal ends is completed with its unused cards in ordinal order.
+ * </pre>
+ */
+public class ReplayShuffleSource implements ShuffleSource
+{
+    private final JournalReader cards;
+
+    // the numbers the current shuffle draws, for the bounds DECK_SIZE down to 2
+    private final int[] draws = new int[PlayingCard.DECK_SIZE - 1];
+    private int nextDraw = draws.length;
+    private int decks;
+
+    /**
+     * Creates the source.
+     * @param cards a reader of the journal, only its card records are consumed
+     */
+    public ReplayShuffleSource(JournalReader cards)
+    {
+        if (cards == null)
+            throw new IllegalArgumentException();
+
+        this.cards = cards;
+    }
+
+    /**
+     * Method to retrieve the next number of the current shuffle, starting the next deck as required.
+     * @param bound the bound of the number, from {@link PlayingCard#DECK_SIZE} down to 2 within a shuffle
+     * @return the number that moves the recorded card into place
+     * @throws IllegalStateException thrown if the recorded cards do not form a whole deck or the bounds
+     *                               are not those of {@link HalfDeck#shuffle()}
+     */
+    @Override
+    public int nextInt(int bound) throws IllegalStateException
+    {
+        if (nextDraw == draws.length)
+        {
+            nextDeck();
+            nextDraw = 0;
+        }
+
+        if (bound != PlayingCard.DECK_SIZE - nextDraw)
+            throw new IllegalStateException("Replay only supports the shuffle of a HalfDeck.");
+        return draws[nextDraw++];
+    }
+
+    /**
+     * Getter for the number of decks shuffled so far.
+     * @return the number of decks
+     */
+    public int getDecks()
+    {
+        return decks;
+    }
+
+    /**
+     * <pre>
+     * Utility method to read the next deck's worth of recorded cards and work out the shuffle's numbers.
+     * Going from the bottom of the deck up, each step swaps the recorded card into position i from
+     * wherever the ordinal order, as permuted by the previous steps, holds it.
+     * </pre>
+     */
+    private void nextDeck()
+    {
+        byte[] order = new byte[PlayingCard.DECK_SIZE];
+        boolean[] used = new boolean[PlayingCard.DECK_SIZE];
+        int count = 0;
+
+        try
+        {
+            while (count < order.length && nextCard())
+            {
+                int code = CardRegistry.ordinal(cards.getCard());
+                if (used[code])
+                    throw new IllegalStateException(String.format(
+                            "Recorded cards do not form whole decks, %s repeats within deck %d.",
+                            cards.getCard(), decks + 1));
+                used[code] = true;
+                order[count++] = (byte) code;
+            }
+        }
+        catch (IOException exception)
+        {
+            throw new UncheckedIOException(exception);
+        }
+
+        // complete the last deck with the cards that were never dealt
+        for (int code = 0; code < used.length && count < order.length; code++)
+            if (!used[code])
+                order[count++] = (byte) code;
+
+        // positions[code] and deck[position] track the partially shuffled ordinal order
+        byte[] deck = new byte[order.length];
+        byte[] positions = new byte[order.length];
+        for (int i = 0; i < deck.length; i++)
+        {
+            deck[i] = (byte) i;
+            positions[i] = (byte) i;
+        }
+
+        for (int i = deck.length - 1; i > 0; i--)
+        {
+            int j = positions[order[i]];
+            draws[deck.length - 1 - i] = j;
+
+            byte swap = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swap;
+            positions[deck[i]] = (byte) i;
+            positions[deck[j]] = (byte) j;
+        }
+        decks++;
+    }
+
+    /**
+     * Utility method to advance the reader to the next card record.
+     * @return true if a card was found, false once the journal has ended
+     * @throws IOException thrown if the journal cannot be read
+     */
+    private boolean nextCard() throws IOException
+    {
+        while (cards.next())
+        {
+            switch (cards.getType())
+            {
+                case RoundJournal.PLAYER_CARD:
+                case RoundJournal.PLAYER_BUST_CARD:
+                case RoundJournal.HOUSE_CARD:
+                case RoundJournal.HOUSE_BUST_CARD:
+                    return true;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+}
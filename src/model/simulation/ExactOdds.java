@@ -0,0 +1,232 @@
+package model.simulation;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import model.interfaces.PlayingCard;
+
+/**
+ * <pre>
+ * Exact odds of a round (the player's hand followed by the house's hand) computed by dynamic programming.
+ * A hand only depends on the cards left in the deck, and cards of equal score are interchangeable,
+ * hence the deck is reduced to the count of remaining cards per score, e.g. at most 5 * 5 * 17 * 5 states
+ * for the half deck. The odds of a round starting from every such state are computed once on construction,
+ * after which each query is a table lookup.
+ * <b>Note:</b> As in {@link model.GameEngineImpl}, a deck that runs out is reshuffled with all of its cards.
+ * </pre>
+ */
+public class ExactOdds
+{
+    private final int bustLevel;
+
+    // the distinct card scores and the number of cards of each score in a full deck
+    private final int[] scores;
+    private final int[] fullCounts;
+
+    // a state is the mixed radix number of remaining cards per score
+    private final int[] radix;
+    private final int fullState;
+    private final int[] cardsLeft;
+
+    // memoized distribution of the house's final score, for a hand starting from each state
+    private final double[][] houseOutcomes;
+    private final RoundOdds[] roundOdds;
+
+    /**
+     * Creates the odds tables of the game's rules, computed on first use and shared thereafter.
+     * @return the ExactOdds of {@link RuleSet#standard()}
+     */
+    public static ExactOdds standard()
+    {
+        return StandardHolder.INSTANCE;
+    }
+
+    /**
+     * Creates and fills the odds tables of the given rules.
+     * @param rules the rules to compute the odds of
+     */
+    public ExactOdds(RuleSet rules)
+    {
+        if (rules == null)
+            throw new IllegalArgumentException();
+
+        bustLevel = rules.getBustLevel();
+
+        // group the cards of the deck by score
+        int[] cardScores = rules.getCardScores();
+        Arrays.sort(cardScores);
+        scores = Arrays.stream(cardScores).distinct().toArray();
+        fullCounts = new int[scores.length];
+        for (int cardScore : cardScores)
+            fullCounts[Arrays.binarySearch(scores, cardScore)]++;
+
+        radix = new int[scores.length];
+        int stateCount = 1;
+        int state = 0;
+        for (int i = 0; i < scores.length; i++)
+        {
+            radix[i] = stateCount;
+            state += fullCounts[i] * stateCount;
+            stateCount *= fullCounts[i] + 1;
+        }
+        fullState = state;
+
+        cardsLeft = new int[stateCount];
+        for (state = 0; state < stateCount; state++)
+            for (int i = 0; i < scores.length; i++)
+                cardsLeft[state] += count(state, i);
+
+        houseOutcomes = new double[stateCount][];
+        for (state = 0; state < stateCount; state++)
+            houseOutcomes[state] = houseOutcome(state);
+
+        roundOdds = new RoundOdds[stateCount];
+        double[] endWeights = new double[stateCount];
+        for (state = 0; state < stateCount; state++)
+            roundOdds[state] = round(state, endWeights);
+    }
+
+    /**
+     * Method to retrieve the odds of a round dealt from a freshly shuffled deck.
+     * @return the RoundOdds
+     */
+    public RoundOdds getRoundOdds()
+    {
+        return roundOdds[fullState];
+    }
+
+    /**
+     * Method to retrieve the odds of a round dealt from the given cards, e.g. what is left of the engine's deck.
+     * @param remainingDeck the cards left in the deck, an empty deck is reshuffled before the first card
+     * @return the RoundOdds
+     * @throws IllegalArgumentException thrown when the cards are not a part of the deck of the rules
+     */
+    public RoundOdds getRoundOdds(Collection<PlayingCard> remainingDeck) throws IllegalArgumentException
+    {
+        int[] counts = new int[scores.length];
+        for (PlayingCard card : remainingDeck)
+        {
+            int i = Arrays.binarySearch(scores, card.getScore());
+            if (i < 0 || ++counts[i] > fullCounts[i])
+                throw new IllegalArgumentException();
+        }
+
+        int state = 0;
+        for (int i = 0; i < scores.length; i++)
+            state += counts[i] * radix[i];
+        return roundOdds[state];
+    }
+
+    /**
+     * Utility method to compute the distribution of the house's final score from a state.
+     * @param state the cards left in the deck when the house's hand begins
+     * @return the probability of each final score, indexed by score
+     */
+    private double[] houseOutcome(int state)
+    {
+        double[] outcome = new double[bustLevel + 1];
+        deal(state, 0, 1, (score, endState, probability) -> outcome[score] += probability);
+        return outcome;
+    }
+
+    /**
+     * Utility method to compute the odds of a round, combining every end of the player's hand with the
+     * memoized house outcome of the cards left at that point.
+     * @param state the cards left in the deck when the round begins
+     * @param endWeights scratch array (all zeros) for the probability of each state after the player's hand
+     * @return the RoundOdds
+     */
+    private RoundOdds round(int state, double[] endWeights)
+    {
+        double[] playerScores = new double[bustLevel + 1];
+        double[] houseScores = new double[bustLevel + 1];
+        double[] odds = new double[3];
+
+        deal(state, 0, 1, (playerScore, endState, probability) ->
+        {
+            playerScores[playerScore] += probability;
+            endWeights[endState] += probability;
+
+            double[] houseOutcome = houseOutcomes[endState];
+            for (int houseScore = 0; houseScore < houseOutcome.length; houseScore++)
+            {
+                double joint = probability * houseOutcome[houseScore];
+                odds[Integer.compare(houseScore, playerScore) + 1] += joint;
+            }
+        });
+
+        // the house's distribution is the mix of its outcomes weighted by how the player's hand ended
+        for (int endState = 0; endState < endWeights.length; endState++)
+        {
+            if (endWeights[endState] == 0)
+                continue;
+
+            for (int houseScore = 0; houseScore < houseScores.length; houseScore++)
+                houseScores[houseScore] += endWeights[endState] * houseOutcomes[endState][houseScore];
+            endWeights[endState] = 0;
+        }
+
+        // player ahead of the house (compare = -1) is a win, level is a draw and behind is a loss
+        return new RoundOdds(odds[0], odds[1], odds[2], playerScores, houseScores);
+    }
+
+    /**
+     * Utility method to enumerate every way a hand can end, following the rules of the engine's deal loop.
+     * @param state the cards left in the deck
+     * @param score the score of the hand so far
+     * @param probability the probability of the hand reaching this point
+     * @param sink receives the final score, the cards left and the probability of each end of the hand
+     */
+    private void deal(int state, int score, double probability, HandSink sink)
+    {
+        // the deck is reshuffled when it runs out
+        if (state == 0)
+            state = fullState;
+
+        for (int i = 0; i < scores.length; i++)
+        {
+            int count = count(state, i);
+            if (count == 0)
+                continue;
+
+            double nextProbability = probability * count / cardsLeft[state];
+            int nextScore = score + scores[i];
+            int nextState = state - radix[i];
+
+            // the final score is the pre bust total, the bust card is still taken from the deck
+            if (nextScore > bustLevel)
+                sink.handEnded(score, nextState, nextProbability);
+            else if (nextScore == bustLevel)
+                sink.handEnded(nextScore, nextState, nextProbability);
+            else
+                deal(nextState, nextScore, nextProbability, sink);
+        }
+    }
+
+    /**
+     * Utility method to decode the number of cards of a score left in a state.
+     * @param state the encoded state
+     * @param i the index of the score
+     * @return the number of remaining cards with that score
+     */
+    private int count(int state, int i)
+    {
+        return (state / radix[i]) % (fullCounts[i] + 1);
+    }
+
+    /**
+     * Receiver of the ends of a hand enumerated by {@link #deal(int, int, double, HandSink)}.
+     */
+    private interface HandSink
+    {
+        void handEnded(int score, int endState, double probability);
+    }
+
+    /**
+     * Lazy holder of the standard tables, initialized once on first access.
+     */
+    private static class StandardHolder
+    {
+        private static final ExactOdds INSTANCE = new ExactOdds(RuleSet.standard());
+    }
+}
@@ -0,0 +1,215 @@
+package model.simulation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.GameEngineImpl;
+import model.ShuffleSources;
+import model.SimplePlayer;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.metrics.EngineMetrics;
+import model.metrics.LatencyRecorder;
+
+/**
+ * <pre>
+ * Load harness that plays many tables at once, each table being its own {@link GameEngineImpl} with its own players,
+ * to measure what a node sustains before a deploy.
+ * Every round each player bets a random amount, then the round is played with {@link GameEngine#playRound}.
+ * Between rounds a share of the players leave their table and new players join it, players out of points leave too.
+ * Tables are spread across the worker threads, each table playing its rounds on a single worker.
+ * <b>Note:</b>
+ * The reported latencies include the deal delay, hence a delay of 0 measures the engine itself.
+ * Allocation is measured per worker thread, where the JVM supports it.
+ * </pre>
+ */
+public class LoadGenerator
+{
+    private static final int STARTING_POINTS = 10_000;
+    private static final int MAX_BET = 500;
+
+    private final int tables;
+    private final int players;
+    private final long rounds;
+    private final int threads;
+    private int delay;
+    private double churn;
+    private long seed = System.nanoTime();
+
+    /**
+     * Creates a load generator with a delay of 0 and no players leaving or joining.
+     * @param tables the number of tables, i.e. engines
+     * @param players the number of players at each table
+     * @param rounds the number of rounds played at each table
+     * @param threads the number of worker threads the tables are spread across
+     */
+    public LoadGenerator(int tables, int players, long rounds, int threads)
+    {
+        if (tables < 1 || players < 1 || rounds < 0 || threads < 1)
+            throw new IllegalArgumentException();
+
+        this.tables = tables;
+        this.players = players;
+        this.rounds = rounds;
+        this.threads = threads;
+    }
+
+    /**
+     * Setter for the delay between dealt cards.
+     * @param delay the delay in milliseconds
+     */
+    public void setDelay(int delay)
+    {
+        if (delay < 0)
+            throw new IllegalArgumentException();
+        this.delay = delay;
+    }
+
+    /**
+     * Setter for the share of a table's players replaced after each round.
+     * @param churn the share between 0 and 1, e.g. 0.05 for 1 in 20 players
+     */
+    public void setChurn(double churn)
+    {
+        if (churn < 0 || churn > 1)
+            throw new IllegalArgumentException();
+        this.churn = churn;
+    }
+
+    /**
+     * Setter for the seed of the bets, the churn and the decks, so a run can be repeated.
+     * @param seed the seed of the run
+     */
+    public void setSeed(long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * Method to play all rounds at all tables.
+     * @return the report of the run
+     * @throws InterruptedException thrown if interrupted while waiting for the workers
+     */
+    public LoadReport run() throws InterruptedException
+    {
+        EngineMetrics metrics = new EngineMetrics();
+        LatencyRecorder roundLatency = new LatencyRecorder();
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<LoadReport>> workers = new ArrayList<>();
+        for (int table = 0; table < tables; table++)
+        {
+            int tableNumber = table;
+            SplittableRandom random = seeds.split();
+            workers.add(() -> play(tableNumber, random, metrics, roundLatency));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tables));
+        try
+        {
+            long start = System.nanoTime();
+            LoadReport report = new LoadReport(tables, players, delay);
+            for (Future<LoadReport> future : executor.invokeAll(workers))
+                report.merge(future.get());
+            report.setElapsedNanos(System.nanoTime() - start);
+            report.setLatencies(roundLatency.snapshot(), metrics);
+            return report;
+        }
+        catch (ExecutionException exception)
+        {
+            throw new IllegalStateException(exception.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Utility method to play the rounds of a single table, run by the workers.
+     * @param table the number of the table, used in the players' ids
+     * @param random the source of this table's bets, churn and decks
+     * @param metrics the per phase latencies, shared by all tables
+     * @param roundLatency the round latencies, shared by all tables
+     * @return the report of this table
+     */
+    private LoadReport play(int table, SplittableRandom random, EngineMetrics metrics, LatencyRecorder roundLatency)
+    {
+        GameEngineImpl gameEngine = new GameEngineImpl(ShuffleSources.seeded(random.nextLong()));
+        gameEngine.setMetrics(metrics);
+
+        LoadReport report = new LoadReport(1, players, delay);
+        int joined = 0;
+        for (; joined < players; joined++)
+            gameEngine.addPlayer(newPlayer(table, joined));
+
+        long allocatedBefore = allocatedBytes();
+        List<Player> leaving = new ArrayList<>();
+
+        for (long round = 0; round < rounds; round++)
+        {
+            int hands = 0;
+            for (Player player : gameEngine.getAllPlayers())
+                if (gameEngine.placeBet(player, 1 + random.nextInt(Math.min(player.getPoints(), MAX_BET))))
+                    hands++;
+
+            long start = System.nanoTime();
+            gameEngine.playRound(gameEngine.getAllPlayers(), delay);
+            roundLatency.record(System.nanoTime() - start);
+            report.recordRound(hands);
+
+            // players out of points leave, as does a random share of the others
+            for (Player player : gameEngine.getAllPlayers())
+                if (player.getPoints() < 1 || (churn > 0 && random.nextDouble() < churn))
+                    leaving.add(player);
+            for (Player player : leaving)
+                gameEngine.removePlayer(player);
+
+            // new players take the free seats
+            for (int i = 0; i < leaving.size(); i++)
+                gameEngine.addPlayer(newPlayer(table, joined++));
+            report.recordChurn(leaving.size());
+            leaving.clear();
+        }
+
+        long allocatedAfter = allocatedBytes();
+        report.setAllocatedBytes((allocatedBefore < 0 || allocatedAfter < 0) ? -1 : allocatedAfter - allocatedBefore);
+        return report;
+    }
+
+    /**
+     * Utility method to create a player joining a table.
+     * @param table the number of the table
+     * @param number the number of players who joined the table before
+     * @return the new player
+     */
+    private static Player newPlayer(int table, int number)
+    {
+        String id = String.format("%d-%d", table, number);
+        return new SimplePlayer(id, "Player " + id, STARTING_POINTS);
+    }
+
+    /**
+     * Utility method to read the bytes allocated so far by the current thread.
+     * @return the allocated bytes, -1 if the JVM does not measure them
+     */
+    private static long allocatedBytes()
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean))
+            return -1;
+
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled())
+            return -1;
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
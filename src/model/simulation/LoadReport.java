@@ -0,0 +1,179 @@
+package model.simulation;
+
+import model.metrics.EngineMetrics;
+import model.metrics.LatencySnapshot;
+
+/**
+ * Outcome of a {@link LoadGenerator} run, i.e. the throughput, latencies and allocation of the played rounds.
+ */
+public class LoadReport
+{
+    private final int tables;
+    private final int players;
+    private final int delay;
+    private long rounds;
+    private long hands;
+    private long churned;
+    private long allocatedBytes;
+    private long elapsedNanos;
+    private LatencySnapshot roundLatency;
+    private LatencySnapshot dealPlayerLatency;
+    private LatencySnapshot dealHouseLatency;
+    private LatencySnapshot settlementLatency;
+
+    /**
+     * Creates an empty report.
+     * @param tables the number of tables
+     * @param players the number of players at each table
+     * @param delay the delay between dealt cards in milliseconds
+     */
+    public LoadReport(int tables, int players, int delay)
+    {
+        this.tables = tables;
+        this.players = players;
+        this.delay = delay;
+    }
+
+    /**
+     * Method to record a played round.
+     * @param hands the number of players dealt in the round
+     */
+    public void recordRound(int hands)
+    {
+        rounds++;
+        this.hands += hands;
+    }
+
+    /**
+     * Method to record players replaced after a round.
+     * @param players the number of players who left and were replaced
+     */
+    public void recordChurn(int players)
+    {
+        churned += players;
+    }
+
+    /**
+     * Method to add the counts of a single table's report, once its rounds are played.
+     * @param report the report of the table
+     */
+    public void merge(LoadReport report)
+    {
+        rounds += report.rounds;
+        hands += report.hands;
+        churned += report.churned;
+        allocatedBytes = (allocatedBytes < 0 || report.allocatedBytes < 0) ? -1 : allocatedBytes + report.allocatedBytes;
+    }
+
+    /**
+     * Setter for the bytes allocated while playing.
+     * @param allocatedBytes the allocated bytes, -1 if unknown
+     */
+    public void setAllocatedBytes(long allocatedBytes)
+    {
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Setter for the time taken by the run.
+     * @param elapsedNanos the wall clock time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos)
+    {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Setter for the latencies of the run.
+     * @param roundLatency the latencies of whole rounds
+     * @param metrics the per phase latencies recorded by the engines
+     */
+    public void setLatencies(LatencySnapshot roundLatency, EngineMetrics metrics)
+    {
+        this.roundLatency = roundLatency;
+        dealPlayerLatency = metrics.getDealPlayerLatency();
+        dealHouseLatency = metrics.getDealHouseLatency();
+        settlementLatency = metrics.getSettlementLatency();
+    }
+
+    /**
+     * Getter for the number of played rounds across all tables.
+     * @return the number of rounds
+     */
+    public long getRounds()
+    {
+        return rounds;
+    }
+
+    /**
+     * Getter for the number of dealt player hands across all tables.
+     * @return the number of hands
+     */
+    public long getHands()
+    {
+        return hands;
+    }
+
+    /**
+     * Getter for the number of players who left and were replaced.
+     * @return the number of replaced players
+     */
+    public long getChurned()
+    {
+        return churned;
+    }
+
+    /**
+     * Getter for the throughput of the run.
+     * @return the rounds per second
+     */
+    public double getRoundsPerSecond()
+    {
+        return (elapsedNanos == 0) ? 0 : rounds / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Getter for the allocation of the run.
+     * @return the mean allocated bytes per round, -1 if unknown
+     */
+    public double getAllocatedBytesPerRound()
+    {
+        return (allocatedBytes < 0) ? -1 : (double) allocatedBytes / Math.max(rounds, 1);
+    }
+
+    /**
+     * Getter for the latencies of whole rounds.
+     * @return the round latencies, null before the run ends
+     */
+    public LatencySnapshot getRoundLatency()
+    {
+        return roundLatency;
+    }
+
+    /**
+     * <pre>
+     * Overridden {@link Object#toString()} method.
+     * Lists the load, the throughput, the latency of rounds and of their phases and the allocation per round.
+     * </pre>
+     * @return a human readable report of the run
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("Tables: %d x %d players, delay %d ms%n", tables, players, delay));
+        report.append(String.format("Rounds: %d, hands: %d, replaced players: %d in %.3f s%n",
+                rounds, hands, churned, elapsedNanos / 1e9));
+        report.append(String.format("Throughput: %.0f rounds/s, %.0f hands/s%n",
+                getRoundsPerSecond(), (elapsedNanos == 0) ? 0 : hands / (elapsedNanos / 1e9)));
+        report.append(String.format("Round:       %s%n", roundLatency));
+        report.append(String.format("Deal player: %s%n", dealPlayerLatency));
+        report.append(String.format("Deal house:  %s%n", dealHouseLatency));
+        report.append(String.format("Settlement:  %s%n", settlementLatency));
+        report.append((allocatedBytes < 0) ? String.format("Allocation: not measured by this JVM%n")
+                : String.format("Allocation: %.0f bytes/round%n", getAllocatedBytesPerRound()));
+
+        return report.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package model.simulation;
+
+/**
+ * <pre>
+ * The estimated probabilities of a player winning, drawing or losing a round against the house.
+ * Each probability has a 95% confidence interval of the probability plus/minus its margin of error
+ * (normal approximation of the binomial proportion).
+ * </pre>
+ */
+public class OddsEstimate
+{
+    // the standard normal quantile for a two sided 95% confidence interval
+    private static final double Z_95 = 1.959963984540054;
+
+    private final long wins;
+    private final long draws;
+    private final long losses;
+
+    /**
+     * Creates the estimate from the outcome counts of the simulated rounds.
+     * @param wins the number of rounds won by the player
+     * @param draws the number of rounds drawn
+     * @param losses the number of rounds lost by the player
+     */
+    public OddsEstimate(long wins, long draws, long losses)
+    {
+        this.wins = wins;
+        this.draws = draws;
+        this.losses = losses;
+    }
+
+    /**
+     * Getter for the number of rounds won by the player.
+     * @return the win count
+     */
+    public long getWins()
+    {
+        return wins;
+    }
+
+    /**
+     * Getter for the number of rounds drawn.
+     * @return the draw count
+     */
+    public long getDraws()
+    {
+        return draws;
+    }
+
+    /**
+     * Getter for the number of rounds lost by the player.
+     * @return the loss count
+     */
+    public long getLosses()
+    {
+        return losses;
+    }
+
+    /**
+     * Getter for the number of simulated rounds.
+     * @return the sample size of the estimate
+     */
+    public long getRounds()
+    {
+        return wins + draws + losses;
+    }
+
+    /**
+     * Getter for the probability of the player winning.
+     * @return the estimated probability
+     */
+    public double getWinProbability()
+    {
+        return proportion(wins);
+    }
+
+    /**
+     * Getter for the probability of a draw.
+     * @return the estimated probability
+     */
+    public double getDrawProbability()
+    {
+        return proportion(draws);
+    }
+
+    /**
+     * Getter for the probability of the player losing.
+     * @return the estimated probability
+     */
+    public double getLossProbability()
+    {
+        return proportion(losses);
+    }
+
+    /**
+     * Getter for the margin of error of the win probability.
+     * @return half the width of the 95% confidence interval
+     */
+    public double getWinMargin()
+    {
+        return margin(wins);
+    }
+
+    /**
+     * Getter for the margin of error of the draw probability.
+     * @return half the width of the 95% confidence interval
+     */
+    public double getDrawMargin()
+    {
+        return margin(draws);
+    }
+
+    /**
+     * Getter for the margin of error of the loss probability.
+     * @return half the width of the 95% confidence interval
+     */
+    public double getLossMargin()
+    {
+        return margin(losses);
+    }
+
+    /**
+     * Getter for the largest margin of error of the three probabilities, used to stop the estimation.
+     * @return the largest half width of the 95% confidence intervals
+     */
+    public double getMaxMargin()
+    {
+        return Math.max(getWinMargin(), Math.max(getDrawMargin(), getLossMargin()));
+    }
+
+    /**
+     * Utility method to compute a probability from an outcome count.
+     * @param count the number of rounds with the outcome
+     * @return the proportion of all rounds
+     */
+    private double proportion(long count)
+    {
+        long rounds = getRounds();
+        return (rounds == 0) ? 0 : (double) count / rounds;
+    }
+
+    /**
+     * Utility method to compute the margin of error of an outcome's probability.
+     * @param count the number of rounds with the outcome
+     * @return half the width of the 95% confidence interval, 1 if nothing was simulated
+     */
+    private double margin(long count)
+    {
+        long rounds = getRounds();
+        if (rounds == 0)
+            return 1;
+
+        double probability = proportion(count);
+        return Z_95 * Math.sqrt(probability * (1 - probability) / rounds);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("Rounds: %d, win=%.5f +/- %.5f, draw=%.5f +/- %.5f, loss=%.5f +/- %.5f",
+                getRounds(), getWinProbability(), getWinMargin(), getDrawProbability(), getDrawMargin(),
+                getLossProbability(), getLossMargin());
+    }
+}
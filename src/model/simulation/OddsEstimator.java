@@ -0,0 +1,213 @@
+package model.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <pre>
+ * Monte Carlo estimator of the odds of a player against the house for a given {@link RuleSet}.
+ * Rounds are simulated in waves of fork/join tasks, each task drawing from its own {@link SplittableRandom}
+ * stream split off the estimator's seed, so tasks share nothing and scale with the number of cores.
+ * The estimation stops early once the margin of error of every probability reaches the target.
+ * <b>Note:</b>
+ * Each round deals the player then the house from one deck that is reshuffled when it runs out,
+ * as {@link model.GameEngineImpl} does.
+ * </pre>
+ */
+public class OddsEstimator
+{
+    // the number of rounds above which a task is split in two
+    private static final long SPLIT_THRESHOLD = 16_384;
+
+    // the number of rounds simulated between checks of the margin of error
+    private static final long WAVE_ROUNDS = 1_048_576;
+
+    // indexes of the outcome counts returned by the tasks
+    private static final int WIN = 0;
+    private static final int DRAW = 1;
+    private static final int LOSS = 2;
+
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+
+    /**
+     * Creates an estimator on the common pool with a random seed.
+     */
+    public OddsEstimator()
+    {
+        this(ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    /**
+     * Creates an estimator on the given pool, a seeded random makes the estimates reproducible.
+     * @param pool the pool to run the simulation tasks on
+     * @param random the source the random streams of the tasks are split from
+     */
+    public OddsEstimator(ForkJoinPool pool, SplittableRandom random)
+    {
+        if (pool == null || random == null)
+            throw new IllegalArgumentException();
+
+        this.pool = pool;
+        this.random = random;
+    }
+
+    /**
+     * Method to estimate the odds, blocking until the target margin of error or the maximum rounds is reached.
+     * @param rules the rules to simulate
+     * @param targetMargin the margin of error (95% confidence) to stop at, e.g. 0.001
+     * @param maxRounds the maximum number of rounds to simulate
+     * @return the OddsEstimate
+     * @throws IllegalArgumentException thrown if targetMargin is not between 0 and 1 (exclusive)
+     *         or maxRounds is {@literal <} 1
+     */
+    public OddsEstimate estimate(RuleSet rules, double targetMargin, long maxRounds) throws IllegalArgumentException
+    {
+        // a margin of 1 or more is met before any round, as is a NaN one
+        if (rules == null || !(targetMargin > 0 && targetMargin < 1) || maxRounds < 1)
+            throw new IllegalArgumentException();
+
+        int[] cardScores = rules.getCardScores();
+        OddsEstimate estimate = new OddsEstimate(0, 0, 0);
+
+        while (estimate.getRounds() < maxRounds && estimate.getMaxMargin() > targetMargin)
+        {
+            long rounds = Math.min(WAVE_ROUNDS, maxRounds - estimate.getRounds());
+            long[] outcomes = pool.invoke(new OddsTask(cardScores, rules.getBustLevel(), rounds, nextStream()));
+
+            estimate = new OddsEstimate(estimate.getWins() + outcomes[WIN],
+                    estimate.getDraws() + outcomes[DRAW], estimate.getLosses() + outcomes[LOSS]);
+        }
+        return estimate;
+    }
+
+    /**
+     * <pre>
+     * Non-blocking version of {@link #estimate(RuleSet, double, long)}, e.g. to be called from the event thread.
+     * <b>Note:</b> Completion stages run off the event thread, view updates should use SwingUtilities.invokeLater.
+     * </pre>
+     * @param rules the rules to simulate
+     * @param targetMargin the margin of error (95% confidence) to stop at
+     * @param maxRounds the maximum number of rounds to simulate
+     * @return a future completed with the OddsEstimate
+     */
+    public CompletableFuture<OddsEstimate> estimateAsync(RuleSet rules, double targetMargin, long maxRounds)
+    {
+        return CompletableFuture.supplyAsync(() -> estimate(rules, targetMargin, maxRounds), pool);
+    }
+
+    /**
+     * Utility method to split a new stream off the estimator's random, which is not thread safe.
+     * @return an independent SplittableRandom
+     */
+    private synchronized SplittableRandom nextStream()
+    {
+        return random.split();
+    }
+
+    /**
+     * Fork/join task simulating a number of rounds, split in halves with independent random streams.
+     */
+    private static class OddsTask extends RecursiveTask<long[]>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] cardScores;
+        private final int bustLevel;
+        private final long rounds;
+        private final SplittableRandom random;
+
+        OddsTask(int[] cardScores, int bustLevel, long rounds, SplittableRandom random)
+        {
+            this.cardScores = cardScores;
+            this.bustLevel = bustLevel;
+            this.rounds = rounds;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute()
+        {
+            if (rounds <= SPLIT_THRESHOLD)
+                return simulate();
+
+            OddsTask left = new OddsTask(cardScores, bustLevel, rounds / 2, random.split());
+            OddsTask right = new OddsTask(cardScores, bustLevel, rounds - rounds / 2, random);
+            left.fork();
+
+            long[] outcomes = right.compute();
+            long[] leftOutcomes = left.join();
+            for (int outcome = 0; outcome < outcomes.length; outcome++)
+                outcomes[outcome] += leftOutcomes[outcome];
+            return outcomes;
+        }
+
+        /**
+         * Utility method to simulate the task's rounds on a private deck.
+         * @return the win, draw and loss counts
+         */
+        private long[] simulate()
+        {
+            int[] deck = cardScores.clone();
+            long[] outcomes = new long[3];
+            int[] top = { deck.length };
+
+            for (long round = 0; round < rounds; round++)
+            {
+                int playerScore = deal(deck, top);
+                int houseScore = deal(deck, top);
+
+                if (playerScore > houseScore)
+                    outcomes[WIN]++;
+                else if (playerScore < houseScore)
+                    outcomes[LOSS]++;
+                else
+                    outcomes[DRAW]++;
+            }
+            return outcomes;
+        }
+
+        /**
+         * Utility method to deal a hand, following the rules of the engine's deal loop.
+         * @param deck the scores of the cards in the deck
+         * @param top single element holder of the position of the next card
+         * @return the final (pre bust) score of the hand
+         */
+        private int deal(int[] deck, int[] top)
+        {
+            int score = 0;
+
+            while (score < bustLevel)
+            {
+                if (top[0] == deck.length)
+                {
+                    shuffle(deck);
+                    top[0] = 0;
+                }
+
+                int nextScore = score + deck[top[0]++];
+                if (nextScore > bustLevel)
+                    break;
+                score = nextScore;
+            }
+            return score;
+        }
+
+        /**
+         * Utility method to shuffle the deck in place (Fisher-Yates) with the task's random stream.
+         * @param deck the scores of the cards in the deck
+         */
+        private void shuffle(int[] deck)
+        {
+            for (int i = deck.length - 1; i > 0; i--)
+            {
+                int j = random.nextInt(i + 1);
+                int swap = deck[i];
+                deck[i] = deck[j];
+                deck[j] = swap;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package model.simulation;
+
+/**
+ * The exact probabilities of a round's outcomes and of the player's and the house's final scores.
+ */
+public class RoundOdds
+{
+    private final double win;
+    private final double draw;
+    private final double loss;
+    private final double[] playerScores;
+    private final double[] houseScores;
+
+    /**
+     * Creates the odds of a round.
+     * @param win the probability of the player winning
+     * @param draw the probability of a draw
+     * @param loss the probability of the player losing
+     * @param playerScores the probability of each final player score, indexed by score
+     * @param houseScores the probability of each final house score, indexed by score
+     */
+    public RoundOdds(double win, double draw, double loss, double[] playerScores, double[] houseScores)
+    {
+        this.win = win;
+        this.draw = draw;
+        this.loss = loss;
+        this.playerScores = playerScores;
+        this.houseScores = houseScores;
+    }
+
+    /**
+     * Getter for the probability of the player winning.
+     * @return the exact probability
+     */
+    public double getWinProbability()
+    {
+        return win;
+    }
+
+    /**
+     * Getter for the probability of a draw.
+     * @return the exact probability
+     */
+    public double getDrawProbability()
+    {
+        return draw;
+    }
+
+    /**
+     * Getter for the probability of the player losing.
+     * @return the exact probability
+     */
+    public double getLossProbability()
+    {
+        return loss;
+    }
+
+    /**
+     * Getter for the probability of the player's hand ending with the given score.
+     * @param score the final (pre bust) score
+     * @return the exact probability, 0 for scores that cannot be reached
+     */
+    public double getPlayerScoreProbability(int score)
+    {
+        return (score >= 0 && score < playerScores.length) ? playerScores[score] : 0;
+    }
+
+    /**
+     * Getter for the probability of the house's hand ending with the given score.
+     * @param score the final (pre bust) score
+     * @return the exact probability, 0 for scores that cannot be reached
+     */
+    public double getHouseScoreProbability(int score)
+    {
+        return (score >= 0 && score < houseScores.length) ? houseScores[score] : 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("RoundOdds: win=%.6f, draw=%.6f, loss=%.6f", win, draw, loss);
+    }
+}
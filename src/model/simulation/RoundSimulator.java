@@ -0,0 +1,113 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.GameEngineImpl;
+import model.SimplePlayer;
+import model.interfaces.Player;
+
+/**
+ * <pre>
+ * Headless simulator that plays rounds of a single player against the house on the real {@link GameEngineImpl},
+ * i.e. the same dealing and {@link GameEngineImpl#applyWinLoss(Player, int)} rules as the game.
+ * Rounds are dealt with a delay of 0 and without any callbacks, each worker thread owning its own engine.
+ * </pre>
+ */
+public class RoundSimulator
+{
+    private static final int STARTING_POINTS = 1_000_000;
+    private static final int BET = 100;
+
+    private final int threads;
+
+    /**
+     * Creates a simulator with one worker per available processor.
+     */
+    public RoundSimulator()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a simulator with the given number of workers.
+     * @param threads the number of worker threads
+     */
+    public RoundSimulator(int threads)
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException();
+        this.threads = threads;
+    }
+
+    /**
+     * Method to simulate the given number of rounds spread across the workers.
+     * @param rounds the total number of rounds
+     * @return the combined result of all workers
+     * @throws InterruptedException thrown if interrupted while waiting for the workers
+     */
+    public SimulationResult run(long rounds) throws InterruptedException
+    {
+        if (rounds < 0)
+            throw new IllegalArgumentException();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<SimulationResult>> workers = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++)
+        {
+            // spread the remainder over the first workers
+            long workerRounds = rounds / threads + ((worker < rounds % threads) ? 1 : 0);
+            workers.add(() -> simulate(workerRounds));
+        }
+
+        try
+        {
+            long start = System.nanoTime();
+            SimulationResult result = new SimulationResult();
+            for (Future<SimulationResult> future : executor.invokeAll(workers))
+                result.merge(future.get());
+            result.setElapsedNanos(System.nanoTime() - start);
+            return result;
+        }
+        catch (ExecutionException exception)
+        {
+            throw new IllegalStateException(exception.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Utility method to play rounds on a private engine, run by each worker.
+     * @param rounds the number of rounds to play
+     * @return the result of this worker
+     */
+    private SimulationResult simulate(long rounds)
+    {
+        GameEngineImpl gameEngine = new GameEngineImpl();
+        Player player = new SimplePlayer("1", "Simulated", STARTING_POINTS);
+        gameEngine.addPlayer(player);
+
+        SimulationResult result = new SimulationResult();
+        for (long round = 0; round < rounds; round++)
+        {
+            // restore the points so the balance never drifts out of range
+            player.setPoints(STARTING_POINTS);
+            gameEngine.placeBet(player, BET);
+            gameEngine.dealPlayer(player, 0);
+            gameEngine.dealHouse(0);
+
+            // the outcome is taken from the settled points, so the win/loss rule is the engine's
+            result.recordRound(player.getResult(), gameEngine.getHouseResult(),
+                    player.getPoints() - STARTING_POINTS);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package model.simulation;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import model.CardRegistry;
+import model.interfaces.GameEngine;
+import model.interfaces.PlayingCard;
+
+/**
+ * The rules a round is simulated with, i.e. the bust level and the suits and values that make up the deck.
+ */
+public class RuleSet
+{
+    private final int bustLevel;
+    private final Set<PlayingCard.Suit> suits;
+    private final Set<PlayingCard.Value> values;
+
+    /**
+     * Creates a rule set, each suit is combined with each value to form the deck.
+     * @param bustLevel the score above which a hand busts
+     * @param suits the suits in the deck
+     * @param values the values in the deck
+     */
+    public RuleSet(int bustLevel, Set<PlayingCard.Suit> suits, Set<PlayingCard.Value> values)
+    {
+        if (bustLevel < 1 || suits == null || suits.isEmpty() || values == null || values.isEmpty())
+            throw new IllegalArgumentException();
+
+        this.bustLevel = bustLevel;
+        this.suits = Collections.unmodifiableSet(EnumSet.copyOf(suits));
+        this.values = Collections.unmodifiableSet(EnumSet.copyOf(values));
+    }
+
+    /**
+     * Method to create the rules of the game, i.e. the {@link GameEngine#BUST_LEVEL} and the full half deck.
+     * @return the standard RuleSet
+     */
+    public static RuleSet standard()
+    {
+        return new RuleSet(GameEngine.BUST_LEVEL,
+                EnumSet.allOf(PlayingCard.Suit.class), EnumSet.allOf(PlayingCard.Value.class));
+    }
+
+    /**
+     * Getter for the bust level attribute.
+     * @return the score above which a hand busts
+     */
+    public int getBustLevel()
+    {
+        return bustLevel;
+    }
+
+    /**
+     * Getter for the suits attribute.
+     * @return an unmodifiable set of the suits in the deck
+     */
+    public Set<PlayingCard.Suit> getSuits()
+    {
+        return suits;
+    }
+
+    /**
+     * Getter for the values attribute.
+     * @return an unmodifiable set of the values in the deck
+     */
+    public Set<PlayingCard.Value> getValues()
+    {
+        return values;
+    }
+
+    /**
+     * Method to build the deck described by the rules as the scores of its cards.
+     * @return a new array with the score of each card in the deck
+     */
+    public int[] getCardScores()
+    {
+        int[] scores = new int[suits.size() * values.size()];
+        int index = 0;
+
+        for (PlayingCard.Suit suit : suits)
+            for (PlayingCard.Value value : values)
+                scores[index++] = CardRegistry.getCard(suit, value).getScore();
+
+        return scores;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("RuleSet: bustLevel=%d, suits=%s, values=%s", bustLevel, suits, values);
+    }
+}
@@ -0,0 +1,162 @@
+package model.simulation;
+
+import model.interfaces.GameEngine;
+
+/**
+ * Aggregated outcome of simulated rounds, i.e. the win/loss/draw counts of the player and
+ * the distributions of the player's and the house's final scores.
+ */
+public class SimulationResult
+{
+    private long wins;
+    private long losses;
+    private long draws;
+    private long elapsedNanos;
+    private final long[] playerScores = new long[GameEngine.BUST_LEVEL + 1];
+    private final long[] houseScores = new long[GameEngine.BUST_LEVEL + 1];
+
+    /**
+     * Method to record the outcome of a single round.
+     * @param playerScore the player's final score
+     * @param houseScore the house's final score
+     * @param pointsChange the change of the player's points once the bet was settled
+     */
+    public void recordRound(int playerScore, int houseScore, int pointsChange)
+    {
+        playerScores[playerScore]++;
+        houseScores[houseScore]++;
+
+        if (pointsChange > 0)
+            wins++;
+        else if (pointsChange < 0)
+            losses++;
+        else
+            draws++;
+    }
+
+    /**
+     * Method to combine the rounds of another result into this result, e.g. the results of each worker.
+     * @param other the result to add
+     */
+    public void merge(SimulationResult other)
+    {
+        wins += other.wins;
+        losses += other.losses;
+        draws += other.draws;
+        for (int score = 0; score < playerScores.length; score++)
+        {
+            playerScores[score] += other.playerScores[score];
+            houseScores[score] += other.houseScores[score];
+        }
+    }
+
+    /**
+     * Getter for the total number of rounds.
+     * @return the number of recorded rounds
+     */
+    public long getRounds()
+    {
+        return wins + losses + draws;
+    }
+
+    /**
+     * Getter for the number of rounds won by the player.
+     * @return the win count
+     */
+    public long getWins()
+    {
+        return wins;
+    }
+
+    /**
+     * Getter for the number of rounds lost by the player.
+     * @return the loss count
+     */
+    public long getLosses()
+    {
+        return losses;
+    }
+
+    /**
+     * Getter for the number of rounds drawn.
+     * @return the draw count
+     */
+    public long getDraws()
+    {
+        return draws;
+    }
+
+    /**
+     * Getter for the number of rounds that ended with the given player score.
+     * @param score a final score between 0 and {@link GameEngine#BUST_LEVEL}
+     * @return the round count
+     */
+    public long getPlayerScoreCount(int score)
+    {
+        return playerScores[score];
+    }
+
+    /**
+     * Getter for the number of rounds that ended with the given house score.
+     * @param score a final score between 0 and {@link GameEngine#BUST_LEVEL}
+     * @return the round count
+     */
+    public long getHouseScoreCount(int score)
+    {
+        return houseScores[score];
+    }
+
+    /**
+     * Getter for the wall clock time of the simulation.
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    /**
+     * Setter for the wall clock time of the simulation.
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos)
+    {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Method to compute the throughput of the simulation.
+     * @return the number of rounds per second
+     */
+    public double getRoundsPerSecond()
+    {
+        return (elapsedNanos == 0) ? 0 : getRounds() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * <pre>
+     * Overridden {@link Object#toString()} method.
+     * Lists the throughput, the win/loss/draw rates and the non-empty rows of both score distributions.
+     * </pre>
+     * @return a human readable report of the simulation
+     */
+    @Override
+    public String toString()
+    {
+        long rounds = Math.max(getRounds(), 1);
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("Rounds: %d in %.3f s (%.0f rounds/s)%n",
+                getRounds(), elapsedNanos / 1e9, getRoundsPerSecond()));
+        report.append(String.format("Player win=%.5f, loss=%.5f, draw=%.5f%n",
+                (double) wins / rounds, (double) losses / rounds, (double) draws / rounds));
+        report.append(String.format("%5s %10s %10s%n", "Score", "Player", "House"));
+
+        for (int score = 0; score < playerScores.length; score++)
+            if (playerScores[score] != 0 || houseScores[score] != 0)
+                report.append(String.format("%5d %10.5f %10.5f%n", score,
+                        (double) playerScores[score] / rounds, (double) houseScores[score] / rounds));
+
+        return report.toString();
+    }
+}
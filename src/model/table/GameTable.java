@@ -0,0 +1,186 @@
+package model.table;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import model.interfaces.GameEngine;
+
+/**
+ * <pre>
+ * A single table (actor) that owns a {@link GameEngine} and a mailbox of actions to run against it.
+ * Actions are run one at a time in the order they were submitted, never concurrently, hence the
+ * engine itself needs no synchronization. The table only occupies a thread of the {@link TableHost}
+ * while its mailbox holds actions.
+ * <b>Note:</b>
+ * Actions should deal with a delay of 0, a paced deal would hold a host thread for the whole hand.
+ * Every action's future is completed, exceptionally if the action threw or the executor rejected the table.
+ * </pre>
+ */
+public class GameTable
+{
+    // the maximum number of actions run before yielding the thread to other tables
+    private static final int BATCH_SIZE = 64;
+
+    private final String id;
+    private final GameEngine gameEngine;
+    private final Executor executor;
+    private final Queue<Message<?>> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Creates the table, usually through {@link TableHost#openTable(String)}.
+     * @param id the unique id of the table
+     * @param gameEngine the engine owned by this table
+     * @param executor the executor the mailbox is drained on
+     */
+    public GameTable(String id, GameEngine gameEngine, Executor executor)
+    {
+        if (id == null || gameEngine == null || executor == null)
+            throw new IllegalArgumentException();
+
+        this.id = id;
+        this.gameEngine = gameEngine;
+        this.executor = executor;
+    }
+
+    /**
+     * Getter for the table's id attribute.
+     * @return the id of the table
+     */
+    public String getTableId()
+    {
+        return id;
+    }
+
+    /**
+     * Method to run an action against the table's engine and retrieve its result.
+     * @param action the action, given the table's GameEngine
+     * @param <T> the type of the result
+     * @return a future completed with the result of the action, or exceptionally if the action threw
+     *         or the table's executor no longer accepts work
+     */
+    public <T> CompletableFuture<T> submit(Function<? super GameEngine, ? extends T> action)
+    {
+        Message<T> message = new Message<>(action);
+        enqueue(message);
+        return message.result;
+    }
+
+    /**
+     * Method to run an action against the table's engine without waiting for it (fire and forget).
+     * @param action the action, given the table's GameEngine
+     * @return a future completed once the action ran, or exceptionally if the action threw, may be ignored
+     */
+    public CompletableFuture<Void> tell(Consumer<? super GameEngine> action)
+    {
+        return submit(gameEngine ->
+        {
+            action.accept(gameEngine);
+            return null;
+        });
+    }
+
+    /**
+     * Getter for the number of actions waiting in the mailbox.
+     * @return the mailbox size
+     */
+    public int getPendingActionCount()
+    {
+        return mailbox.size();
+    }
+
+    /**
+     * Utility method to add an action to the mailbox and schedule the table if it is idle.
+     * @param message the action to enqueue
+     */
+    private void enqueue(Message<?> message)
+    {
+        mailbox.add(message);
+        schedule();
+    }
+
+    /**
+     * Utility method to schedule a drain of the mailbox, at most one drain is scheduled at a time.
+     */
+    private void schedule()
+    {
+        if (!scheduled.compareAndSet(false, true))
+            return;
+
+        try
+        {
+            executor.execute(this::drain);
+        }
+        catch (RejectedExecutionException exception)
+        {
+            // e.g. the host is closed, no drain will ever run, hence fail the waiting actions
+            scheduled.set(false);
+            Message<?> message;
+            while ((message = mailbox.poll()) != null)
+                message.result.completeExceptionally(exception);
+
+            // actions added while the table was still marked scheduled are failed the same way
+            if (!mailbox.isEmpty())
+                schedule();
+        }
+    }
+
+    /**
+     * Utility method to run a batch of actions, the table is rescheduled if more actions remain.
+     */
+    private void drain()
+    {
+        try
+        {
+            Message<?> message;
+            for (int i = 0; i < BATCH_SIZE && (message = mailbox.poll()) != null; i++)
+                message.run(gameEngine);
+        }
+        finally
+        {
+            // unscheduled even if a drain fails, else the table would never run an action again
+            scheduled.set(false);
+        }
+
+        // actions may have been added after the last poll, hence check again once unscheduled
+        if (!mailbox.isEmpty())
+            schedule();
+    }
+
+    /**
+     * An action waiting in the mailbox and the future of its result.
+     * @param <T> the type of the result
+     */
+    private static class Message<T>
+    {
+        private final Function<? super GameEngine, ? extends T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Message(Function<? super GameEngine, ? extends T> action)
+        {
+            this.action = action;
+        }
+
+        /**
+         * Utility method to run the action and complete its future, whatever the action throws.
+         * @param gameEngine the table's engine
+         */
+        private void run(GameEngine gameEngine)
+        {
+            try
+            {
+                result.complete(action.apply(gameEngine));
+            }
+            catch (Throwable exception)
+            {
+                result.completeExceptionally(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package model.table;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import model.GameEngineImpl;
+import model.interfaces.GameEngine;
+
+/**
+ * <pre>
+ * Hosts many {@link GameTable}s in one JVM on a fixed pool of threads sized to the core count.
+ * The pool is a work stealing {@link ForkJoinPool}, a table that is rescheduled from a worker stays
+ * on that worker's queue unless an idle worker steals it, hence busy workers are relieved automatically.
+ * </pre>
+ */
+public class TableHost implements AutoCloseable
+{
+    private final ForkJoinPool pool;
+    private final ConcurrentMap<String, GameTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a host with one thread per available processor.
+     */
+    public TableHost()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a host with the given number of threads.
+     * @param parallelism the number of threads shared by all tables
+     */
+    public TableHost(int parallelism)
+    {
+        if (parallelism < 1)
+            throw new IllegalArgumentException();
+
+        // async (FIFO) mode suits tasks that are never joined, such as the mailbox drains
+        pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    /**
+     * Method to open a table with a new {@link GameEngineImpl}, or retrieve the table if already open.
+     * @param id the unique id of the table
+     * @return the GameTable
+     */
+    public GameTable openTable(String id)
+    {
+        return openTable(id, GameEngineImpl::new);
+    }
+
+    /**
+     * Method to open a table with an engine from the given factory, or retrieve the table if already open.
+     * @param id the unique id of the table
+     * @param engineFactory creates the table's engine if the table is not open yet
+     * @return the GameTable
+     */
+    public GameTable openTable(String id, Supplier<? extends GameEngine> engineFactory)
+    {
+        if (id == null || engineFactory == null)
+            throw new IllegalArgumentException();
+
+        return tables.computeIfAbsent(id, tableId -> new GameTable(tableId, engineFactory.get(), pool));
+    }
+
+    /**
+     * Method to access open tables.
+     * @param id the id of the table to retrieve
+     * @return the GameTable or null if no such table is open
+     */
+    public GameTable getTable(String id)
+    {
+        return tables.get(id);
+    }
+
+    /**
+     * <pre>
+     * Method to close a table.
+     * <b>Note:</b> Actions already submitted to the table are still run.
+     * </pre>
+     * @param id the id of the table to close
+     * @return true if the table was open and is now closed, false otherwise
+     */
+    public boolean closeTable(String id)
+    {
+        return tables.remove(id) != null;
+    }
+
+    /**
+     * Method to retrieve all the open tables.
+     * @return an unmodifiable collection of the tables
+     */
+    public Collection<GameTable> getAllTables()
+    {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    /**
+     * Method to wait for the submitted actions of all tables to run after {@link #close()}.
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return true if all actions ran, false if the timeout elapsed first
+     * @throws InterruptedException thrown if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Stops accepting new work, actions already submitted are still run.
+     */
+    @Override
+    public void close()
+    {
+        pool.shutdown();
+    }
+}
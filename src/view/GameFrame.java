@@ -53,7 +53,7 @@ public class GameFrame extends JFrame
         gameMenu = new GameMenu(gameToolBar, gameEngineSupport);
 
         // add controllers that control the frame's resize, closing event
-        GameFrameController gameFrameController = new GameFrameController(this);
+        GameFrameController gameFrameController = new GameFrameController(this, gameEngineSupport);
         addComponentListener(gameFrameController);
         addWindowListener(gameFrameController);
         
@@ -62,7 +62,7 @@ public class GameMenu extends JMenu implements SelectionChangeFollower, DealStat
         aboutMenuItem.addActionListener(new AboutMenuItemController());
         
         exitMenuItem = new JMenuItem("Exit");
-        exitMenuItem.addActionListener(new ExitMenuItemController());
+        exitMenuItem.addActionListener(new ExitMenuItemController(gameEngineSupport));
         
         // set suitable accelerators
         newGameMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N, Toolkit.getDefaultToolkit().getMenuShortcutKeyMask()));
@@ -12,11 +12,12 @@ import view.interfaces.GameEngineCallback;
 
 /**
  * The second {@link GameEngineCallback}, the origin of all GUI components.
- * The methods of this class simply update the view ({@link GameFrame}) components.
+ * The methods of this class simply update the view ({@link GameFrame}) components,
+ * coalesced by a {@link GameFrameUpdater} into at most one refresh per display frame.
  */
 public class GameEngineCallbackGUI implements GameEngineCallback
 {
-    private GameFrame gameFrame;
+    private final GameFrameUpdater gameFrameUpdater;
     private GameEngineSupport gameEngineSupport;
 
     private final boolean BUSTED = true;
@@ -32,12 +33,16 @@ public class GameEngineCallbackGUI implements GameEngineCallback
         // create the supporting GameEngine (ViewModel) that sits on top of the basic GameEngine
         gameEngineSupport = new GameEngineGUISupport(gameEngine, delay);
 
+        // created right away, as callbacks may arrive from the engine's threads before the frame is built
+        gameFrameUpdater = new GameFrameUpdater();
+
         // initialise the GameFrame on the event thread
         SwingUtilities.invokeLater(() ->
         {
             // the JFrame which is the origin of everything GUI
-            gameFrame = new GameFrame(gameEngineSupport);
+            GameFrame gameFrame = new GameFrame(gameEngineSupport);
             gameEngineSupport.addGameEngineCallbackSupport(new GameEngineCallbackGUISupport(gameFrame));
+            gameFrameUpdater.setGameFrame(gameFrame);
         });
     }
 
@@ -47,40 +52,27 @@ public class GameEngineCallbackGUI implements GameEngineCallback
         // update player's hand with the card being dealt
         gameEngineSupport.cardDealt(player, card, !BUSTED);
 
-        // view updates are run on the event thread
-        SwingUtilities.invokeLater(() ->
-        {
-            // turn off certain functionalities when a deal is ongoing, e.g. a second deal
-            gameFrame.notifyDealStateChange(DEAL_ONGOING);
-            gameFrame.updateCardPanel();
-            gameFrame.updateGameStatusLabelText(
-                    String.format("Dealing cards to %s.", player.getPlayerName()));
-        });
+        // turn off certain functionalities when a deal is ongoing, e.g. a second deal
+        gameFrameUpdater.dealStateChanged(DEAL_ONGOING);
+        gameFrameUpdater.cardsChanged();
+        gameFrameUpdater.statusChanged(String.format("Dealing cards to %s.", player.getPlayerName()));
     }
 
     @Override
     public void bustCard(Player player, PlayingCard card, GameEngine engine)
     {
     	gameEngineSupport.cardDealt(player, card, BUSTED);
-        SwingUtilities.invokeLater(() ->
-        {
-            gameFrame.updateCardPanel();
-            gameFrame.updateGameStatusLabelText(
-                    String.format("%s busted!", player.getPlayerName()));
-        });
+        gameFrameUpdater.cardsChanged();
+        gameFrameUpdater.statusChanged(String.format("%s busted!", player.getPlayerName()));
     }
 
     @Override
     public void result(Player player, int result, GameEngine engine)
     {
-        SwingUtilities.invokeLater(() ->
-        {
-            // turn functionalities previously turned off, back on
-            gameFrame.notifyDealStateChange(!DEAL_ONGOING);
-            gameFrame.updateSummaryPanel();
-            gameFrame.updateGameStatusLabelText(
-                    String.format("%s's round result is %d.", player.getPlayerName(), result));
-        });
+        // turn functionalities previously turned off, back on
+        gameFrameUpdater.dealStateChanged(!DEAL_ONGOING);
+        gameFrameUpdater.summaryChanged();
+        gameFrameUpdater.statusChanged(String.format("%s's round result is %d.", player.getPlayerName(), result));
     }
 
     @Override
@@ -88,34 +80,24 @@ public class GameEngineCallbackGUI implements GameEngineCallback
     {
         // update house's hand with the card being dealt
         gameEngineSupport.cardDealt(gameEngineSupport.getHousePlayer(), card, !BUSTED);
-        SwingUtilities.invokeLater(() ->
-        {
-            gameFrame.notifyDealStateChange(DEAL_ONGOING);
-            gameFrame.updateCardPanel();
-            gameFrame.updateGameStatusLabelText("Dealing cards to House.");
-        });
+        gameFrameUpdater.dealStateChanged(DEAL_ONGOING);
+        gameFrameUpdater.cardsChanged();
+        gameFrameUpdater.statusChanged("Dealing cards to House.");
     }
 
     @Override
     public void houseBustCard(PlayingCard card, GameEngine engine)
     {
         gameEngineSupport.cardDealt(gameEngineSupport.getHousePlayer(), card, BUSTED);
-        SwingUtilities.invokeLater(() ->
-        {
-            gameFrame.updateCardPanel();
-            gameFrame.updateGameStatusLabelText("House busted!");
-        });
+        gameFrameUpdater.cardsChanged();
+        gameFrameUpdater.statusChanged("House busted!");
     }
 
     @Override
     public void houseResult(int result, GameEngine engine)
     {
-    	SwingUtilities.invokeLater(() ->
-        {
-            gameFrame.notifyDealStateChange(!DEAL_ONGOING);
-            gameFrame.updateSummaryPanel();
-            gameFrame.updateGameStatusLabelText(
-                    String.format("House's round result is %d.", result));
-        });
+        gameFrameUpdater.dealStateChanged(!DEAL_ONGOING);
+        gameFrameUpdater.summaryChanged();
+        gameFrameUpdater.statusChanged(String.format("House's round result is %d.", result));
     }
 }
@@ -7,7 +7,10 @@ import view.GameFrame;
 import view.interfaces.GameEngineCallbackSupport;
 
 /**
+ * <pre>
  * Implementation of the {@link GameEngineCallbackSupport} for the GUI logging behaviour.
+ * <b>Note:</b> The engine operations run on the game's executor, hence every update is run on the event thread.
+ * </pre>
  */
 public class GameEngineCallbackGUISupport implements GameEngineCallbackSupport
 {
@@ -21,55 +24,82 @@ public class GameEngineCallbackGUISupport implements GameEngineCallbackSupport
     @Override
     public void playerAdded(Player player)
     {
-    	// calls update on the view components
-		gameFrame.updateGameToolBar();
-        gameFrame.updateSummaryPanel();
-        
-        // sets a status text based on the event that occurred
-        gameFrame.updateGameStatusLabelText(
-                String.format("%s is added to the game.", player.getPlayerName()));
+        runOnEventThread(() ->
+        {
+            // calls update on the view components
+            gameFrame.updateGameToolBar();
+            gameFrame.updateSummaryPanel();
+
+            // sets a status text based on the event that occurred
+            gameFrame.updateGameStatusLabelText(
+                    String.format("%s is added to the game.", player.getPlayerName()));
+        });
     }
 
     @Override
     public void playerRemoved(Player player)
     {
-		gameFrame.updateGameToolBar();
-        gameFrame.updateSummaryPanel();
-        gameFrame.updateGameStatusLabelText(
-                String.format("%s is removed from the game.", player.getPlayerName()));
+        runOnEventThread(() ->
+        {
+            gameFrame.updateGameToolBar();
+            gameFrame.updateSummaryPanel();
+            gameFrame.updateGameStatusLabelText(
+                    String.format("%s is removed from the game.", player.getPlayerName()));
+        });
     }
 
     @Override
     public void playerBetPlaced(Player player, int bet)
     {
-		gameFrame.updateSummaryPanel();
-        gameFrame.updateGameStatusLabelText(
-                String.format("%s bets %d%s", player.getPlayerName(), bet, (player.getPoints() == bet) ? " and is all in!" : "."));
-        
+        // the points are read now, as they may have changed by the time the update runs
+        boolean allIn = (player.getPoints() == bet);
+        runOnEventThread(() ->
+        {
+            gameFrame.updateSummaryPanel();
+            gameFrame.updateGameStatusLabelText(
+                    String.format("%s bets %d%s", player.getPlayerName(), bet, allIn ? " and is all in!" : "."));
+        });
     }
 
     @Override
     public void playerBetReset(Player player)
     {
-		gameFrame.updateSummaryPanel();
-        gameFrame.updateGameStatusLabelText(
-                String.format("%s resets bet.", player.getPlayerName()));	
+        runOnEventThread(() ->
+        {
+            gameFrame.updateSummaryPanel();
+            gameFrame.updateGameStatusLabelText(
+                    String.format("%s resets bet.", player.getPlayerName()));
+        });
     }
 
     @Override
     public void roundEnded()
     {
-    	// usually called from a regular thread, hence run GUI update on the event thread
-    	SwingUtilities.invokeLater(() -> gameFrame.updateSummaryPanel());
+        runOnEventThread(() -> gameFrame.updateSummaryPanel());
     }
 
 	@Override
 	public void gameReset()
 	{
 		// reset all view components
-		gameFrame.updateGameToolBar();
-		gameFrame.updateSummaryPanel();
-		gameFrame.updateCardPanel();
-		gameFrame.updateGameStatusLabelText("Idle.");
+		runOnEventThread(() ->
+		{
+			gameFrame.updateGameToolBar();
+			gameFrame.updateSummaryPanel();
+			gameFrame.updateCardPanel();
+			gameFrame.updateGameStatusLabelText("Idle.");
+		});
 	}
+
+    /**
+     * Utility method to run a view update on the event thread, directly if already called from it.
+     * @param update the view update
+     */
+    private static void runOnEventThread(Runnable update)
+    {
+        if (SwingUtilities.isEventDispatchThread())
+            update.run();
+        else
+            SwingUtilities.invokeLater(update);
+    }
 }
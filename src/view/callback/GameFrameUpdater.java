@@ -0,0 +1,136 @@
+package view.callback;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.Timer;
+
+import view.GameFrame;
+
+/**
+ * <pre>
+ * Coalesces view updates requested by the engine's thread into at most one refresh of the {@link GameFrame}
+ * per display frame (60 Hz). Requests only mark parts of the view as dirty, a timer on the event thread
+ * then applies all of them at once, hence the event queue no longer floods when cards are dealt quickly.
+ * The timer only runs while there are pending updates, and once the frame exists, updates requested before
+ * the frame is built are applied as soon as it is set.
+ * </pre>
+ */
+public class GameFrameUpdater implements ActionListener
+{
+    private static final int FRAME_MILLIS = 1000 / 60;
+
+    // the parts of the view that can be marked dirty
+    private static final int DEAL_STATE = 1;
+    private static final int CARD_PANEL = 1 << 1;
+    private static final int SUMMARY_PANEL = 1 << 2;
+    private static final int STATUS_TEXT = 1 << 3;
+
+    private volatile GameFrame gameFrame;
+    private final Timer timer;
+    private final AtomicInteger dirty = new AtomicInteger();
+
+    // only the latest values are shown
+    private volatile boolean dealOngoing;
+    private volatile String statusText;
+
+    /**
+     * Creates the updater, requests are held until the frame is set by {@link #setGameFrame(GameFrame)}.
+     */
+    public GameFrameUpdater()
+    {
+        timer = new Timer(FRAME_MILLIS, this);
+        timer.setCoalesce(true);
+    }
+
+    /**
+     * Setter for the frame to refresh, must be called on the event thread once the frame is built.
+     * @param gameFrame the frame to refresh
+     */
+    public void setGameFrame(GameFrame gameFrame)
+    {
+        if (gameFrame == null)
+            throw new IllegalArgumentException();
+
+        this.gameFrame = gameFrame;
+
+        // apply the updates requested while the frame was being built
+        if (dirty.get() != 0)
+            timer.start();
+    }
+
+    /**
+     * Method to request a change of the deal state.
+     * @param dealOngoing true if a deal is ongoing, false otherwise
+     */
+    public void dealStateChanged(boolean dealOngoing)
+    {
+        this.dealOngoing = dealOngoing;
+        markDirty(DEAL_STATE);
+    }
+
+    /**
+     * Method to request a repaint of the {@link view.CardPanel}.
+     */
+    public void cardsChanged()
+    {
+        markDirty(CARD_PANEL);
+    }
+
+    /**
+     * Method to request an update of the {@link view.SummaryPanel}.
+     */
+    public void summaryChanged()
+    {
+        markDirty(SUMMARY_PANEL);
+    }
+
+    /**
+     * Method to request a new status text on the {@link view.GameStatusLabel}.
+     * @param statusText the status String
+     */
+    public void statusChanged(String statusText)
+    {
+        this.statusText = statusText;
+        markDirty(STATUS_TEXT);
+    }
+
+    /**
+     * Utility method to mark parts of the view as dirty, starting the timer if nothing was pending.
+     * @param parts the flags of the dirty parts
+     */
+    private void markDirty(int parts)
+    {
+        // without a frame the request stays pending, the timer is started once the frame is set
+        if (dirty.getAndAccumulate(parts, (pending, added) -> pending | added) == 0 && gameFrame != null)
+            timer.start();
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent event)
+    {
+        int parts = dirty.getAndSet(0);
+
+        if (parts == 0)
+        {
+            // nothing changed for a whole frame, stop until the next request
+            timer.stop();
+
+            // a request may have found the timer still running just before it was stopped
+            if (dirty.get() != 0)
+                timer.start();
+            return;
+        }
+
+        // apply all the updates requested since the previous frame
+        if ((parts & DEAL_STATE) != 0)
+            gameFrame.notifyDealStateChange(dealOngoing);
+        if ((parts & CARD_PANEL) != 0)
+            gameFrame.updateCardPanel();
+        if ((parts & SUMMARY_PANEL) != 0)
+            gameFrame.updateSummaryPanel();
+        if ((parts & STATUS_TEXT) != 0)
+            gameFrame.updateGameStatusLabelText(statusText);
+    }
+}
@@ -0,0 +1,353 @@
+package view.callback;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayingCard;
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Asynchronous dispatch mode for {@link GameEngineCallback}s.
+ * Added to the {@link GameEngine} as a regular callback, it copies each event into a preallocated ring buffer
+ * and returns immediately. Every subscriber consumes the ring on its own thread, in batches, so a slow
+ * subscriber (e.g. console logging) never stalls the deal loop unless it falls a full ring behind.
+ * <b>Note:</b>
+ * Subscribers receive the events in order but later than they happened, hence by the time a subscriber
+ * reads a Player or the engine, their state may already belong to a later card or round.
+ * </pre>
+ */
+public class RingBufferCallbackDispatcher implements GameEngineCallback, AutoCloseable
+{
+    // how long an idle subscriber (or a producer facing a full ring) waits before checking again
+    private static final long IDLE_NANOS = 50_000;
+
+    private final Event[] ring;
+    private final int mask;
+    private final int batchSize;
+
+    // held to publish, the engine's threads may publish concurrently, e.g. the async deals
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    // sequence of the last published event, written under the publish lock by whichever thread publishes
+    private final AtomicLong published = new AtomicLong(-1);
+    private long gatingSequence = -1;
+
+    // sequence of the last event whose slot no longer references its arguments, guarded by the publish lock
+    private long cleared = -1;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    /**
+     * Creates a dispatcher with a ring of 1024 events, consumed in batches of at most 64 events.
+     */
+    public RingBufferCallbackDispatcher()
+    {
+        this(1024, 64);
+    }
+
+    /**
+     * Creates a dispatcher with the given ring size.
+     * @param capacity the number of events in the ring, must be a power of two
+     * @param batchSize the maximum number of events a subscriber consumes before publishing its progress
+     */
+    public RingBufferCallbackDispatcher(int capacity, int batchSize)
+    {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1 || batchSize < 1)
+            throw new IllegalArgumentException();
+
+        ring = new Event[capacity];
+        for (int i = 0; i < capacity; i++)
+            ring[i] = new Event();
+        mask = capacity - 1;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Method to add a subscriber, which receives every event published from now on on its own thread.
+     * @param gameEngineCallback the callback to dispatch to
+     */
+    public void addSubscriber(GameEngineCallback gameEngineCallback)
+    {
+        if (gameEngineCallback == null || !running)
+            throw new IllegalArgumentException();
+
+        publishLock.lock();
+        try
+        {
+            Subscriber subscriber = new Subscriber(gameEngineCallback, published.get());
+            subscribers.add(subscriber);
+            subscriber.thread.start();
+        }
+        finally
+        {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting events and waits for the subscribers to consume the events already published.
+     */
+    @Override
+    public void close()
+    {
+        running = false;
+        for (Subscriber subscriber : subscribers)
+        {
+            try
+            {
+                subscriber.thread.join();
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void nextCard(Player player, PlayingCard card, GameEngine engine)
+    {
+        publish(EventType.NEXT_CARD, player, card, 0, engine);
+    }
+
+    @Override
+    public void bustCard(Player player, PlayingCard card, GameEngine engine)
+    {
+        publish(EventType.BUST_CARD, player, card, 0, engine);
+    }
+
+    @Override
+    public void result(Player player, int result, GameEngine engine)
+    {
+        publish(EventType.RESULT, player, null, result, engine);
+    }
+
+    @Override
+    public void nextHouseCard(PlayingCard card, GameEngine engine)
+    {
+        publish(EventType.NEXT_HOUSE_CARD, null, card, 0, engine);
+    }
+
+    @Override
+    public void houseBustCard(PlayingCard card, GameEngine engine)
+    {
+        publish(EventType.HOUSE_BUST_CARD, null, card, 0, engine);
+    }
+
+    @Override
+    public void houseResult(int result, GameEngine engine)
+    {
+        publish(EventType.HOUSE_RESULT, null, null, result, engine);
+    }
+
+    /**
+     * Utility method to copy an event into the next slot of the ring and make it visible to the subscribers.
+     * @param type the type of the event
+     * @param player the Player of the event, null for house events
+     * @param card the PlayingCard of the event, null for results
+     * @param result the result of the event, 0 for cards
+     * @param engine the engine that raised the event
+     */
+    private void publish(EventType type, Player player, PlayingCard card, int result, GameEngine engine)
+    {
+        publishLock.lock();
+        try
+        {
+            if (!running)
+                return;
+
+            long sequence = published.get() + 1;
+
+            // nobody will ever read the event, subscribers only receive the events published after they were added
+            if (subscribers.isEmpty())
+            {
+                published.lazySet(sequence);
+                return;
+            }
+
+            // the slot is reused only once every subscriber has consumed its previous event
+            long wrapPoint = sequence - ring.length;
+            while (wrapPoint > gatingSequence)
+            {
+                gatingSequence = minimumSubscriberSequence(sequence - 1);
+                if (wrapPoint > gatingSequence)
+                    LockSupport.parkNanos(IDLE_NANOS);
+            }
+
+            Event event = ring[(int) sequence & mask];
+            event.type = type;
+            event.player = player;
+            event.card = card;
+            event.result = result;
+            event.engine = engine;
+
+            // ordered write, the event's fields are visible to any subscriber that reads the new sequence
+            published.lazySet(sequence);
+        }
+        finally
+        {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * <pre>
+     * Utility method to drop the references held by the slots every subscriber has consumed,
+     * so a finished round's players and engine are not kept reachable by an idle ring.
+     * Called by idle subscribers, it gives way to a publishing thread, which overwrites the slots anyway
+     * (a producer waiting for a full ring holds the lock until a subscriber consumes more).
+     * </pre>
+     */
+    private void clearConsumed()
+    {
+        if (!publishLock.tryLock())
+            return;
+
+        try
+        {
+            long last = published.get();
+            long minimum = minimumSubscriberSequence(last);
+
+            // slots before the last ring's worth may already hold newer events
+            for (long sequence = Math.max(cleared, last - ring.length) + 1; sequence <= minimum; sequence++)
+                ring[(int) sequence & mask].clear();
+            cleared = Math.max(cleared, minimum);
+        }
+        finally
+        {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Utility method to find the sequence of the slowest subscriber.
+     * @param defaultSequence the sequence returned when there are no subscribers
+     * @return the lowest sequence consumed by any subscriber
+     */
+    private long minimumSubscriberSequence(long defaultSequence)
+    {
+        long minimum = defaultSequence;
+        for (Subscriber subscriber : subscribers)
+            minimum = Math.min(minimum, subscriber.sequence.get());
+        return minimum;
+    }
+
+    /**
+     * The types of {@link GameEngineCallback} events.
+     */
+    private enum EventType
+    {
+        NEXT_CARD, BUST_CARD, RESULT, NEXT_HOUSE_CARD, HOUSE_BUST_CARD, HOUSE_RESULT
+    }
+
+    /**
+     * A reusable slot of the ring holding the arguments of a single callback.
+     */
+    private static class Event
+    {
+        private EventType type;
+        private Player player;
+        private PlayingCard card;
+        private int result;
+        private GameEngine engine;
+
+        /**
+         * Utility method to drop the event's references once every subscriber consumed it.
+         */
+        private void clear()
+        {
+            player = null;
+            card = null;
+            engine = null;
+        }
+
+        /**
+         * Method to call the matching method of a callback with the event's arguments.
+         * @param callback the subscriber's callback
+         */
+        private void dispatchTo(GameEngineCallback callback)
+        {
+            switch (type)
+            {
+                case NEXT_CARD:
+                    callback.nextCard(player, card, engine);
+                    break;
+                case BUST_CARD:
+                    callback.bustCard(player, card, engine);
+                    break;
+                case RESULT:
+                    callback.result(player, result, engine);
+                    break;
+                case NEXT_HOUSE_CARD:
+                    callback.nextHouseCard(card, engine);
+                    break;
+                case HOUSE_BUST_CARD:
+                    callback.houseBustCard(card, engine);
+                    break;
+                default:
+                    callback.houseResult(result, engine);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * A callback consuming the ring on its own thread, tracking the sequence of the last event it consumed.
+     */
+    private class Subscriber implements Runnable
+    {
+        private final GameEngineCallback callback;
+        private final AtomicLong sequence;
+        private final Thread thread;
+
+        Subscriber(GameEngineCallback callback, long sequence)
+        {
+            this.callback = callback;
+            this.sequence = new AtomicLong(sequence);
+            thread = new Thread(this, "callback-subscriber-" + callback.getClass().getSimpleName());
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            long consumed = sequence.get();
+
+            while (running || consumed < published.get())
+            {
+                long available = Math.min(published.get(), consumed + batchSize);
+                if (available == consumed)
+                {
+                    clearConsumed();
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+
+                while (consumed < available)
+                {
+                    try
+                    {
+                        ring[(int) ++consumed & mask].dispatchTo(callback);
+                    }
+                    catch (Throwable exception)
+                    {
+                        // any failure is confined to its event, a subscriber that stopped consuming
+                        // would leave the producer parked on a full ring forever
+                        exception.printStackTrace();
+                    }
+                }
+
+                // releasing the batch lets the producer reuse its slots
+                sequence.lazySet(consumed);
+            }
+        }
+    }
+}
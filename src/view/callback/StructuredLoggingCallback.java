@@ -0,0 +1,385 @@
+package view.callback;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import model.CardRegistry;
+import model.interfaces.GameEngine;
+import model.interfaces.Player;
+import model.interfaces.PlayingCard;
+import view.interfaces.GameEngineCallback;
+
+/**
+ * <pre>
+ * Implementation of {@link GameEngineCallback} for structured logging with (almost) no cost on the deal thread.
+ * The level is checked before any work, the same levels as {@link GameEngineCallbackImpl} are used, i.e.
+ * cards at {@link Level#FINE} and results at {@link Level#INFO}, configured through {@link #logger}.
+ * Records are written as ASCII straight into a reusable buffer without formatting Strings, one line each:
+ *    {@literal <epoch millis> <level> <event> key=value ...}
+ * A background appender swaps the buffer for a second one and writes the records to the console or a file
+ * in batches. The deal thread never writes to the console or file itself, records that do not fit in a full
+ * buffer are dropped and counted instead, see {@link #getDroppedRecordCount()}.
+ * </pre>
+ */
+public class StructuredLoggingCallback implements GameEngineCallback, AutoCloseable
+{
+    public static final Logger logger = Logger.getLogger(StructuredLoggingCallback.class.getName());
+
+    private static final int BUFFER_CAPACITY = 1 << 20;
+    private static final long FLUSH_INTERVAL_MILLIS = 100;
+
+    // the longest record written, player ids and names longer than the limit are truncated
+    private static final int MAX_TEXT_LENGTH = 128;
+    private static final int MAX_RECORD_LENGTH = 512;
+
+    // the description of each card as ASCII, indexed by ordinal
+    private static final byte[][] CARD_TEXT = new byte[PlayingCard.DECK_SIZE][];
+
+    static
+    {
+        for (int ordinal = 0; ordinal < PlayingCard.DECK_SIZE; ordinal++)
+            CARD_TEXT[ordinal] = ascii(CardRegistry.getCard(ordinal).toString());
+    }
+
+    private static final byte[] FINE = ascii(" FINE ");
+    private static final byte[] INFO = ascii(" INFO ");
+    private static final byte[] NEXT_CARD = ascii("NEXT_CARD        ");
+    private static final byte[] BUST_CARD = ascii("BUST_CARD        ");
+    private static final byte[] RESULT = ascii("RESULT           ");
+    private static final byte[] NEXT_HOUSE_CARD = ascii("NEXT_HOUSE_CARD  ");
+    private static final byte[] HOUSE_BUST_CARD = ascii("HOUSE_BUST_CARD  ");
+    private static final byte[] HOUSE_RESULT = ascii("HOUSE_RESULT     ");
+    private static final byte[] PLAYER_SUMMARY = ascii("PLAYER_SUMMARY   ");
+    private static final byte[] PLAYER_KEY = ascii("player=");
+    private static final byte[] NAME_KEY = ascii(" name=");
+    private static final byte[] CARD_KEY = ascii(" card=");
+    private static final byte[] SCORE_KEY = ascii(" score=");
+    private static final byte[] RESULT_KEY = ascii("result=");
+    private static final byte[] BET_KEY = ascii(" bet=");
+    private static final byte[] POINTS_KEY = ascii(" points=");
+    private static final byte[] PLAYER_RESULT_KEY = ascii(" result=");
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final Thread appender;
+
+    // the appender is stopped through this flag and unpark, never interrupted, as an interrupt
+    // would close the channel (and System.out with it) in the middle of a write
+    private volatile boolean closed;
+
+    // the buffer records are written to, and the one being written out by the appender
+    private ByteBuffer active = ByteBuffer.allocate(BUFFER_CAPACITY);
+    private ByteBuffer standby = ByteBuffer.allocate(BUFFER_CAPACITY);
+
+    // records dropped because the appender could not keep up, and whether it was woken early, guarded by this
+    private long droppedRecords;
+    private boolean appenderWoken;
+
+    /**
+     * Creates a callback logging to the console.
+     */
+    public StructuredLoggingCallback()
+    {
+        this(System.out);
+    }
+
+    /**
+     * Creates a callback logging to the given stream, which is not closed by {@link #close()}.
+     * @param out the stream records are written to
+     */
+    public StructuredLoggingCallback(OutputStream out)
+    {
+        this(Channels.newChannel(out), false);
+    }
+
+    /**
+     * Creates a callback appending to the given file.
+     * @param file the log file, created if it does not exist
+     * @throws IOException thrown if the file cannot be opened
+     */
+    public StructuredLoggingCallback(Path file) throws IOException
+    {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                true);
+    }
+
+    private StructuredLoggingCallback(WritableByteChannel channel, boolean closeChannel)
+    {
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+
+        appender = new Thread(this::appendPeriodically, "logging-appender");
+        appender.setDaemon(true);
+        appender.start();
+    }
+
+    @Override
+    public void nextCard(Player player, PlayingCard card, GameEngine engine)
+    {
+        if (logger.isLoggable(Level.FINE))
+            logCard(FINE, NEXT_CARD, player, card);
+    }
+
+    @Override
+    public void bustCard(Player player, PlayingCard card, GameEngine engine)
+    {
+        if (logger.isLoggable(Level.INFO))
+            logCard(INFO, BUST_CARD, player, card);
+    }
+
+    @Override
+    public synchronized void result(Player player, int result, GameEngine engine)
+    {
+        if (!logger.isLoggable(Level.INFO) || !beginRecord(INFO, RESULT))
+            return;
+
+        active.put(PLAYER_KEY);
+        putText(player.getPlayerId());
+        active.put(SCORE_KEY);
+        putNumber(result);
+        endRecord();
+    }
+
+    @Override
+    public void nextHouseCard(PlayingCard card, GameEngine engine)
+    {
+        if (logger.isLoggable(Level.FINE))
+            logCard(FINE, NEXT_HOUSE_CARD, null, card);
+    }
+
+    @Override
+    public void houseBustCard(PlayingCard card, GameEngine engine)
+    {
+        if (logger.isLoggable(Level.INFO))
+            logCard(INFO, HOUSE_BUST_CARD, null, card);
+    }
+
+    @Override
+    public synchronized void houseResult(int result, GameEngine engine)
+    {
+        if (!logger.isLoggable(Level.INFO))
+            return;
+
+        if (beginRecord(INFO, HOUSE_RESULT))
+        {
+            active.put(RESULT_KEY);
+            putNumber(result);
+            endRecord();
+        }
+
+        // one record per player instead of a single formatted block
+        for (Player player : engine.getAllPlayers())
+        {
+            if (!beginRecord(INFO, PLAYER_SUMMARY))
+                continue;
+
+            active.put(PLAYER_KEY);
+            putText(player.getPlayerId());
+            active.put(NAME_KEY);
+            putText(player.getPlayerName());
+            active.put(BET_KEY);
+            putNumber(player.getBet());
+            active.put(POINTS_KEY);
+            putNumber(player.getPoints());
+            active.put(PLAYER_RESULT_KEY);
+            putNumber(player.getResult());
+            endRecord();
+        }
+    }
+
+    /**
+     * Getter for the number of records dropped so far, because the buffer was full when they were logged.
+     * @return the dropped record count
+     */
+    public synchronized long getDroppedRecordCount()
+    {
+        return droppedRecords;
+    }
+
+    /**
+     * Stops the appender after writing out all the pending records, records logged afterwards are discarded.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        LockSupport.unpark(appender);
+
+        try
+        {
+            appender.join();
+            if (closeChannel)
+                channel.close();
+        }
+        catch (InterruptedException exception)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException exception)
+        {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Utility method to write the record of a dealt card.
+     * @param level the level of the record
+     * @param event the event name
+     * @param player the Player the card was dealt to, null for the house
+     * @param card the dealt card
+     */
+    private synchronized void logCard(byte[] level, byte[] event, Player player, PlayingCard card)
+    {
+        if (!beginRecord(level, event))
+            return;
+
+        if (player != null)
+        {
+            active.put(PLAYER_KEY);
+            putText(player.getPlayerId());
+        }
+        active.put(CARD_KEY);
+        active.put(CARD_TEXT[CardRegistry.ordinal(card)]);
+        endRecord();
+    }
+
+    /**
+     * Utility method to start a record with the timestamp, level and event, if there is room for it.
+     * @param level the level of the record
+     * @param event the event name
+     * @return true if the record was started, false if it is dropped
+     */
+    private boolean beginRecord(byte[] level, byte[] event)
+    {
+        if (closed)
+            return false;
+
+        // only happens if the appender cannot keep up, the deal thread never waits for the output
+        if (active.remaining() < MAX_RECORD_LENGTH)
+        {
+            droppedRecords++;
+            return false;
+        }
+
+        // wake the appender early rather than letting the buffer fill up
+        if (!appenderWoken && active.position() >= BUFFER_CAPACITY / 2)
+        {
+            appenderWoken = true;
+            LockSupport.unpark(appender);
+        }
+
+        putNumber(System.currentTimeMillis());
+        active.put(level);
+        active.put(event);
+        return true;
+    }
+
+    /**
+     * Utility method to end a record.
+     */
+    private void endRecord()
+    {
+        active.put((byte) '\n');
+    }
+
+    /**
+     * Utility method to write text as ASCII, other characters are replaced by '?'.
+     * @param text the text to write, truncated to {@link #MAX_TEXT_LENGTH} characters
+     */
+    private void putText(CharSequence text)
+    {
+        int length = Math.min(text.length(), MAX_TEXT_LENGTH);
+        for (int i = 0; i < length; i++)
+        {
+            char character = text.charAt(i);
+            active.put((character >= ' ' && character < 127) ? (byte) character : (byte) '?');
+        }
+    }
+
+    /**
+     * Utility method to write a number in decimal without creating a String.
+     * @param number the number to write
+     */
+    private void putNumber(long number)
+    {
+        if (number < 0)
+        {
+            active.put((byte) '-');
+            number = -number;
+        }
+
+        long divisor = 1;
+        while (number / divisor >= 10)
+            divisor *= 10;
+
+        for (; divisor > 0; divisor /= 10)
+            active.put((byte) ('0' + (number / divisor) % 10));
+    }
+
+    /**
+     * Utility method for the appender to swap the buffers and write out the records periodically,
+     * then the remaining records once closed.
+     */
+    private void appendPeriodically()
+    {
+        boolean last = false;
+        while (!last)
+        {
+            // spurious or early wake ups only write out a smaller batch
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS));
+            last = closed;
+
+            ByteBuffer records;
+            synchronized (this)
+            {
+                records = active;
+                active = standby;
+                standby = records;
+                appenderWoken = false;
+            }
+
+            // the swapped out buffer is only touched by the appender, hence written outside the lock
+            flush(records);
+        }
+    }
+
+    /**
+     * Utility method to write out all the records of a buffer and clear it.
+     * @param records the buffer to write out
+     */
+    private void flush(ByteBuffer records)
+    {
+        records.flip();
+        try
+        {
+            while (records.hasRemaining())
+                channel.write(records);
+        }
+        catch (IOException exception)
+        {
+            exception.printStackTrace();
+        }
+        records.clear();
+    }
+
+    /**
+     * Utility method to encode constant text.
+     * @param text the text
+     * @return the ASCII bytes
+     */
+    private static byte[] ascii(String text)
+    {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
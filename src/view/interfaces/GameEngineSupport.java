@@ -1,8 +1,13 @@
 package view.interfaces;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import model.SnapshotOutput;
 import model.interfaces.GameEngine;
 import model.interfaces.Player;
 import model.interfaces.PlayingCard;
+import view.model.GameExecutor;
 import view.model.PlayerState;
 
 /**
@@ -16,6 +21,12 @@ public interface GameEngineSupport extends GameEngine
      */
     int getDelay();
 
+    /**
+     * Getter for the executor all engine operations requested by the controllers are run on.
+     * @return the game's {@link GameExecutor}
+     */
+    GameExecutor getGameExecutor();
+
     /**
      * Getter for the house player.
      * @return the house Player object
@@ -40,6 +51,27 @@ public interface GameEngineSupport extends GameEngine
      */
     void resetGame();
 
+    /**
+     * Method to capture the game, i.e. the players, the deck and the players' states, into memory.
+     * The capture can then be written out with {@link model.GameSnapshot#write} on another thread.
+     * @return the encoded snapshot
+     */
+    SnapshotOutput captureGame();
+
+    /**
+     * Method to save the game to a snapshot file.
+     * @param file the snapshot file
+     * @throws IOException thrown if the file cannot be written
+     */
+    void saveGame(Path file) throws IOException;
+
+    /**
+     * Method to replace the current game with one restored from a snapshot file.
+     * @param file the snapshot file
+     * @throws IOException thrown if the file cannot be read or is not a valid snapshot, the game is then unchanged
+     */
+    void loadGame(Path file) throws IOException;
+
     /**
      * Method to evaluate whether all the players in the {@link GameEngine} have been dealt.
      * @return true if all existing players have been dealt, false otherwise
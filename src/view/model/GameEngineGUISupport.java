@@ -1,12 +1,23 @@
 package view.model;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
+import java.util.List;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Deque;
 import java.util.Collection;
+import java.util.concurrent.CancellationException;
 
+import model.CardRegistry;
+import model.GameSnapshot;
 import model.SimplePlayer;
+import model.SnapshotInput;
+import model.SnapshotOutput;
 import model.interfaces.GameEngine;
 import model.interfaces.Player;
 import model.interfaces.PlayingCard;
@@ -26,6 +37,9 @@ public class GameEngineGUISupport implements GameEngineSupport
     private GameEngine gameEngine;
     private GameEngineCallbackSupport callbackSupport;
 
+    // single thread the controllers' engine operations run on, in the order they were requested
+    private final GameExecutor gameExecutor = new GameExecutor();
+
     // collection to store the players' states
     private Map<String, PlayerState> playerStates = new HashMap<>();
 
@@ -45,6 +59,12 @@ public class GameEngineGUISupport implements GameEngineSupport
         return delay;
     }
 
+    @Override
+    public GameExecutor getGameExecutor()
+    {
+        return gameExecutor;
+    }
+
     @Override
     public Player getHousePlayer()
     {
@@ -63,7 +83,15 @@ public class GameEngineGUISupport implements GameEngineSupport
         // deal for the player and update the player's state
         getPlayerState(player).resetHand();
         getPlayerState(player).setHasBeenDealt(true);
-        gameEngine.dealPlayer(player, delay);
+        try
+        {
+            gameEngine.dealPlayer(player, delay);
+        }
+        catch (CancellationException exception)
+        {
+            abandonHand(getPlayerState(player));
+            throw exception;
+        }
         getPlayerState(player).setPreviousBet(player.getBet());
     }
 
@@ -73,9 +101,56 @@ public class GameEngineGUISupport implements GameEngineSupport
         // deal for the house and update the house's state
         getPlayerState(HOUSE).resetHand();
         getPlayerState(HOUSE).setHasBeenDealt(true);
-        gameEngine.dealHouse(delay);
+        try
+        {
+            gameEngine.dealHouse(delay);
+        }
+        catch (CancellationException exception)
+        {
+            abandonHand(getPlayerState(HOUSE));
+            throw exception;
+        }
+        updatePlayerStates();
+        callbackSupport.roundEnded();
+    }
+
+    @Override
+    public int playRound(Collection<Player> players, int delay) throws IllegalArgumentException
+    {
+        // the players of the round are those the engine deals, i.e. the added players who placed a bet
+        List<PlayerState> roundStates = new ArrayList<>(players.size() + 1);
+        for (Player player : players)
+        {
+            Player added = getPlayer(player.getPlayerId());
+            if (added != null && added.getBet() > 0)
+            {
+                // update the player's state as dealPlayer does, the bet is reset by the time the round ends
+                PlayerState state = getPlayerState(added);
+                state.resetHand();
+                state.setHasBeenDealt(true);
+                state.setPreviousBet(added.getBet());
+                roundStates.add(state);
+            }
+        }
+        getPlayerState(HOUSE).resetHand();
+        getPlayerState(HOUSE).setHasBeenDealt(true);
+        roundStates.add(getPlayerState(HOUSE));
+
+        int houseResult;
+        try
+        {
+            houseResult = gameEngine.playRound(players, delay);
+        }
+        catch (CancellationException exception)
+        {
+            // the engine settles no bets for a cancelled round, hence none of its hands are kept
+            for (PlayerState state : roundStates)
+                abandonHand(state);
+            throw exception;
+        }
         updatePlayerStates();
         callbackSupport.roundEnded();
+        return houseResult;
     }
 
     @Override
@@ -96,6 +171,20 @@ public class GameEngineGUISupport implements GameEngineSupport
         return dealt;
     }
 
+    /**
+     * <pre>
+     * Utility method to roll back the state of a hand that was cancelled before it ended.
+     * The engine sets no result and settles no bets for such a hand, hence the player may be dealt again.
+     * </pre>
+     * @param state the state of the player whose hand was cancelled
+     */
+    private void abandonHand(PlayerState state)
+    {
+        state.resetHand();
+        state.setHasBeenDealt(false);
+        state.setHasBusted(false);
+    }
+
     /**
      * Method that updates all the players' final {@link PlayerState} once round ends.
      */
@@ -190,6 +279,103 @@ public class GameEngineGUISupport implements GameEngineSupport
 		callbackSupport.gameReset();
 	}
 
+    @Override
+    public SnapshotOutput captureGame()
+    {
+        SnapshotOutput out = GameSnapshot.capture(gameEngine);
+
+        // the players' states follow the engine's section, including the house's
+        out.putInt(playerStates.size());
+        for (Map.Entry<String, PlayerState> entry : playerStates.entrySet())
+        {
+            PlayerState state = entry.getValue();
+            out.putString(entry.getKey());
+            out.putByte((state.hasBet() ? 1 : 0) | (state.hasBeenDealt() ? 2 : 0) | (state.hasBusted() ? 4 : 0));
+            out.putInt(state.getPreviousBet());
+            out.putInt(state.getPreviousPoints());
+            out.putByte(state.getResultSummary().ordinal());
+            out.putByte(state.getHand().size());
+            for (PlayingCard card : state.getHand())
+                out.putByte(CardRegistry.ordinal(card));
+        }
+        return out;
+    }
+
+    @Override
+    public void saveGame(Path file) throws IOException
+    {
+        GameSnapshot.write(captureGame(), file);
+    }
+
+    @Override
+    public void loadGame(Path file) throws IOException
+    {
+        GameSnapshot.EngineSection engineSection;
+        Map<String, PlayerState> restoredStates;
+
+        // every section is read before anything is restored, so a corrupt snapshot leaves the game as it was
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            SnapshotInput in = new SnapshotInput(channel);
+            engineSection = GameSnapshot.readEngine(in);
+
+            PlayerState.ResultSummary[] summaries = PlayerState.ResultSummary.values();
+            int stateCount = in.hasRemaining() ? in.getInt() : 0;
+            if (stateCount < 0)
+                throw new IOException("Corrupt snapshot.");
+
+            restoredStates = new HashMap<>(Math.max(16, (int) (engineSection.getPlayers().size() / 0.75f) + 2));
+            for (int i = 0; i < stateCount; i++)
+            {
+                String id = in.getString();
+                PlayerState state = new PlayerState();
+                int flags = in.getByte();
+                state.setHasBet((flags & 1) != 0);
+                state.setHasBeenDealt((flags & 2) != 0);
+                state.setHasBusted((flags & 4) != 0);
+                state.setPreviousBet(in.getInt());
+                state.setPreviousPoints(in.getInt());
+
+                int summary = in.getByte();
+                if (summary >= summaries.length)
+                    throw new IOException("Corrupt snapshot.");
+                state.setResultSummary(summaries[summary]);
+
+                int handSize = in.getByte();
+                for (int j = 0; j < handSize; j++)
+                {
+                    try
+                    {
+                        state.addPlayingCard(CardRegistry.getCard(in.getByte()));
+                    }
+                    catch (IllegalArgumentException exception)
+                    {
+                        throw new IOException("Corrupt snapshot.", exception);
+                    }
+                }
+                restoredStates.put(id, state);
+            }
+        }
+
+        // players missing a state, e.g. from an engine only snapshot, start afresh
+        for (Player player : engineSection.getPlayers())
+        {
+            if (!restoredStates.containsKey(player.getPlayerId()))
+            {
+                PlayerState state = new PlayerState();
+                state.setPreviousPoints(player.getPoints());
+                restoredStates.put(player.getPlayerId(), state);
+            }
+        }
+        restoredStates.putIfAbsent(HOUSE.getPlayerId(), new PlayerState());
+
+        engineSection.restore(gameEngine);
+        playerStates = restoredStates;
+
+        if (callbackSupport != null)
+            callbackSupport.gameReset();
+    }
+
     @Override
     public void addGameEngineCallbackSupport(GameEngineCallbackSupport callbackSupport)
     {
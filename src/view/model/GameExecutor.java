@@ -0,0 +1,389 @@
+package view.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * <pre>
+ * Game scoped executor that runs all engine operations requested by the controllers, one at a time and in order,
+ * on a single named daemon thread, so the event thread is never blocked by a deal.
+ * Operations wait in a bounded queue, once it is full new operations are handled by the {@link RejectionPolicy}.
+ * <b>Note:</b>
+ * Operations complete the returned future, rejected operations complete it with a {@link RejectedExecutionException}.
+ * </pre>
+ */
+public class GameExecutor implements AutoCloseable
+{
+    /**
+     * Enums to represent what happens to an operation submitted while the queue is full.
+     */
+    public enum RejectionPolicy
+    {
+        // throw a RejectedExecutionException to the caller
+        ABORT,
+        // drop the new operation
+        DISCARD,
+        // drop the operation that has waited the longest to make room for the new one
+        DISCARD_OLDEST,
+        // block the caller until there is room, i.e. backpressure, not for use on the event thread
+        BLOCK
+    }
+
+    private static final AtomicInteger EXECUTOR_NUMBER = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+    private final RejectionPolicy rejectionPolicy;
+    private final int capacity;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    // the operation being run, for it to be interrupted by cancelAll
+    private volatile GameTask<?> running;
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+    /**
+     * Creates an executor for the GUI, with room for 64 waiting operations and discarding any further clicks.
+     */
+    public GameExecutor()
+    {
+        this(64, RejectionPolicy.DISCARD);
+    }
+
+    /**
+     * Creates an executor.
+     * @param capacity the number of operations that may wait to run
+     * @param rejectionPolicy the handling of operations submitted while the queue is full
+     */
+    public GameExecutor(int capacity, RejectionPolicy rejectionPolicy)
+    {
+        if (capacity < 1 || rejectionPolicy == null)
+            throw new IllegalArgumentException();
+
+        this.capacity = capacity;
+        this.rejectionPolicy = rejectionPolicy;
+
+        String name = String.format("game-executor-%d", EXECUTOR_NUMBER.incrementAndGet());
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity),
+                task ->
+                {
+                    Thread thread = new Thread(task, name);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new RejectionHandler());
+    }
+
+    /**
+     * Method to submit an operation that produces a result.
+     * @param operation the operation, e.g. placing a bet
+     * @param <T> the type of the result
+     * @return the future of the operation's result
+     * @throws RejectedExecutionException thrown if the queue is full and the policy is {@link RejectionPolicy#ABORT}
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> operation) throws RejectedExecutionException
+    {
+        GameTask<T> task = new GameTask<>(operation);
+        submitted.incrementAndGet();
+        executor.execute(task);
+
+        int depth = executor.getQueue().size();
+        peakQueueDepth.accumulateAndGet(depth, Math::max);
+        return task.future;
+    }
+
+    /**
+     * Method to submit an operation without a result.
+     * @param operation the operation, e.g. a deal
+     * @return the future completed once the operation has run
+     * @throws RejectedExecutionException thrown if the queue is full and the policy is {@link RejectionPolicy#ABORT}
+     */
+    public CompletableFuture<Void> execute(Runnable operation) throws RejectedExecutionException
+    {
+        return submit(() ->
+        {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * <pre>
+     * Method for the controllers to submit an operation and then update the view with its result on the event thread.
+     * Rejected and cancelled operations are dropped without updating the view, they are only counted.
+     * </pre>
+     * @param operation the operation, e.g. placing a bet
+     * @param viewUpdate the update of the view given the operation's result, e.g. displaying a dialog
+     * @param <T> the type of the result
+     */
+    public <T> void submit(Supplier<T> operation, Consumer<T> viewUpdate)
+    {
+        try
+        {
+            submit(operation).whenComplete((result, exception) ->
+            {
+                if (exception == null)
+                    SwingUtilities.invokeLater(() -> viewUpdate.accept(result));
+                else if (!(exception instanceof RejectedExecutionException || exception instanceof CancellationException))
+                    exception.printStackTrace();
+            });
+        }
+        catch (RejectedExecutionException exception)
+        {
+            // already counted, the view is left as is
+        }
+    }
+
+    /**
+     * Method for the controllers to submit an operation and then update the view on the event thread.
+     * @param operation the operation, e.g. resetting a bet
+     * @param viewUpdate the update of the view, e.g. displaying a dialog
+     * @see #submit(Supplier, Consumer)
+     */
+    public void execute(Runnable operation, Runnable viewUpdate)
+    {
+        submit(() ->
+        {
+            operation.run();
+            return null;
+        }, result -> viewUpdate.run());
+    }
+
+    /**
+     * <pre>
+     * Method to cancel every operation, e.g. when the game is reset or closed. Waiting operations are dropped
+     * and the running one is interrupted, which an ongoing deal answers by abandoning its hand.
+     * <b>Note:</b> The executor remains usable, operations submitted afterwards run as usual.
+     * </pre>
+     */
+    public void cancelAll()
+    {
+        List<Runnable> waiting = new ArrayList<>();
+        executor.getQueue().drainTo(waiting);
+        for (Runnable task : waiting)
+            if (task instanceof GameTask)
+                ((GameTask<?>) task).future.cancel(false);
+        cancelled.addAndGet(waiting.size());
+
+        GameTask<?> task = running;
+        if (task != null)
+            task.interrupt();
+    }
+
+    /**
+     * Getter for the number of operations waiting to run.
+     * @return the current queue depth
+     */
+    public int getQueueDepth()
+    {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Getter for the largest number of operations that waited at once.
+     * @return the peak queue depth
+     */
+    public int getPeakQueueDepth()
+    {
+        return peakQueueDepth.get();
+    }
+
+    /**
+     * Getter for the number of operations that may wait to run.
+     * @return the capacity of the queue
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Getter for the handling of operations submitted while the queue is full.
+     * @return the {@link RejectionPolicy} enum
+     */
+    public RejectionPolicy getRejectionPolicy()
+    {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Getter for the number of operations submitted, including the rejected ones.
+     * @return the submitted count
+     */
+    public long getSubmittedCount()
+    {
+        return submitted.get();
+    }
+
+    /**
+     * Getter for the number of operations rejected, either new or discarded from the queue.
+     * @return the rejected count
+     */
+    public long getRejectedCount()
+    {
+        return rejected.get();
+    }
+
+    /**
+     * Getter for the number of waiting operations dropped by {@link #cancelAll()}.
+     * @return the cancelled count
+     */
+    public long getCancelledCount()
+    {
+        return cancelled.get();
+    }
+
+    /**
+     * Getter for the number of operations that have run.
+     * @return the completed count
+     */
+    public long getCompletedCount()
+    {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * Stops the executor, operations still waiting are rejected and a running operation is interrupted.
+     */
+    @Override
+    public void close()
+    {
+        for (Runnable waiting : executor.shutdownNow())
+            reject(waiting);
+    }
+
+    /**
+     * Utility method to complete a rejected operation's future.
+     * @param task the rejected task
+     */
+    private void reject(Runnable task)
+    {
+        rejected.incrementAndGet();
+        if (task instanceof GameTask)
+            ((GameTask<?>) task).future.completeExceptionally(
+                    new RejectedExecutionException("The game is busy, the operation was dropped."));
+    }
+
+    /**
+     * Handler applying the {@link RejectionPolicy} to operations that do not fit into the queue.
+     */
+    private class RejectionHandler implements RejectedExecutionHandler
+    {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor)
+        {
+            if (executor.isShutdown())
+            {
+                reject(task);
+                return;
+            }
+
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            switch (rejectionPolicy)
+            {
+                case ABORT:
+                    reject(task);
+                    throw new RejectedExecutionException("The game is busy.");
+                case DISCARD:
+                    reject(task);
+                    break;
+                case DISCARD_OLDEST:
+                    // another operation may take the freed slot, in which case this one is dropped
+                    Runnable oldest = queue.poll();
+                    if (oldest != null)
+                        reject(oldest);
+                    if (!queue.offer(task))
+                        reject(task);
+                    break;
+                case BLOCK:
+                    try
+                    {
+                        queue.put(task);
+                    }
+                    catch (InterruptedException exception)
+                    {
+                        Thread.currentThread().interrupt();
+                        reject(task);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Operation together with the future of its result.
+     * @param <T> the type of the result
+     */
+    private class GameTask<T> implements Runnable
+    {
+        private final Supplier<T> operation;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private Thread thread;
+
+        private GameTask(Supplier<T> operation)
+        {
+            this.operation = operation;
+        }
+
+        @Override
+        public void run()
+        {
+            if (future.isDone())
+                return;
+
+            synchronized (this)
+            {
+                thread = Thread.currentThread();
+            }
+            running = this;
+
+            try
+            {
+                future.complete(operation.get());
+            }
+            catch (RuntimeException exception)
+            {
+                future.completeExceptionally(exception);
+            }
+            catch (Error error)
+            {
+                future.completeExceptionally(error);
+                throw error;
+            }
+            finally
+            {
+                running = null;
+
+                // an interrupt arriving as the operation ends must not reach the next one
+                synchronized (this)
+                {
+                    thread = null;
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Method to interrupt the thread running this operation, if it is still running.
+         */
+        private synchronized void interrupt()
+        {
+            if (thread != null)
+                thread.interrupt();
+        }
+    }
+}
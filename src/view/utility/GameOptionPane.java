@@ -64,13 +64,17 @@ public class GameOptionPane extends JOptionPane
     
     /**
      * Dialog to be displayed if an exit attempt is made, e.g. frame closing.
+     * @param beforeExit run once the exit is confirmed, e.g. to stop an ongoing deal
      */
-    public static void exitGameDialog()
+    public static void exitGameDialog(Runnable beforeExit)
     {
         int answer = JOptionPane.showConfirmDialog(null, "Leave the game?", "Exit",
             JOptionPane.OK_CANCEL_OPTION);
 
         if (answer == JOptionPane.OK_OPTION)
+        {
+            beforeExit.run();
             System.exit(0);
+        }
     }
 }
@@ -3,7 +3,7 @@ package view.utility;
 import javax.swing.JLabel;
 import javax.swing.JTextField;
 
-import model.SimplePlayer;
+import model.AtomicPlayer;
 import model.interfaces.Player;
 
 import java.util.List;
@@ -50,7 +50,8 @@ public class PlayerOptionPane extends AbstractInputPane
                 else if (Integer.parseInt(strip(pointsField.getText())) <= 0)
                     throw new NumberFormatException();
 
-                return new SimplePlayer(strip(idField.getText()), nameField.getText(),
+                // bets are placed and settled on the game executor, but the view reads players on the event thread
+                return new AtomicPlayer(strip(idField.getText()), nameField.getText(),
                     Integer.parseInt(strip(pointsField.getText())));
             }
             catch (NumberFormatException exception)